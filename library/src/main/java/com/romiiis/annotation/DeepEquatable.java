@@ -0,0 +1,25 @@
+package com.romiiis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A {@link com.romiiis.spi.DeepComparator} is generated for the annotated class at compile time
+ * by the EqualLib annotation processor (the {@code EqualLib-processor} artifact on the processor path).
+ * <p>
+ * The generated comparator reads the fields directly (non-private fields or their accessors), so the class is
+ * compared without reflection and without opening its package. The other annotations of this package
+ * ({@link EqualIgnore}, {@link EqualUseEquals}, {@link EqualShallow}) are applied by the generated code.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface DeepEquatable {
+}
@@ -0,0 +1,23 @@
+package com.romiiis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated field is not compared by EqualLib.
+ * <p>
+ * Same as listing the field in {@code EqualLibConfig.setIgnoredFieldPaths}, but the field is ignored
+ * with every configuration. The annotation is read once, when the plan of the class is built.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface EqualIgnore {
+}
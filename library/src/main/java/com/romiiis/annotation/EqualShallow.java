@@ -0,0 +1,24 @@
+package com.romiiis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value of the annotated field is compared by identity: the fields are equal only if they reference
+ * the same instance (or both are null). The referenced objects are not compared deeply.
+ * <p>
+ * Useful for references to shared objects (services, caches, parents) that are not part of the compared value.
+ * The annotation is read once, when the plan of the class is built.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface EqualShallow {
+}
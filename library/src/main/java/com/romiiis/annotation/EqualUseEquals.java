@@ -0,0 +1,26 @@
+package com.romiiis.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated class (and its subclasses) or the value of the annotated field is compared by its equals method
+ * instead of deeply.
+ * <p>
+ * On a class, it is the same as listing the class in {@code EqualLibConfig.setCustomEqualsClasses},
+ * but with every configuration. The annotation is read once, when the plan of the class is built.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface EqualUseEquals {
+}
@@ -0,0 +1,216 @@
+package com.romiiis.core;
+
+import com.romiiis.util.Pair;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Comparison of many independent pairs of objects by the threads of an executor.
+ * <p>
+ * The pairs are taken from the iterator in batches of {@link #BATCH_SIZE}, every batch is compared by one task.
+ * The result of a batch is one word of the resulting {@link BitSet}. At most {@link #MAX_BATCHES_PER_THREAD}
+ * batches per thread are waiting at once, so the pairs are not taken from the iterator faster than they are compared.
+ * All comparisons share the configuration and its comparison plans, every thread reuses its comparison context.
+ * </p>
+ * <p>
+ * The calling thread never blocks while a batch waits for a thread of the executor: when the limit of waiting batches
+ * is reached, it compares the next batch itself, and it compares the waiting batches it needs the result of.
+ * So the comparison finishes even when it is called from a thread of the executor (e.g. from a task of the same pool).
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib#areEqualAll(Iterator, EqualLibConfig, Executor)
+ */
+final class BatchComparison {
+
+    /**
+     * Number of pairs compared by one task (one word of the result)
+     */
+    private static final int BATCH_SIZE = Long.SIZE;
+
+    /**
+     * Maximum number of waiting batches per thread of the executor
+     */
+    private static final int MAX_BATCHES_PER_THREAD = 4;
+
+    private final EqualLibConfig config;
+    private final Executor executor;
+    private final Semaphore waiting;
+
+    /**
+     * Set when the comparison is short-circuited (a mismatch is found and only all-equal result is needed)
+     */
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final boolean stopOnMismatch;
+
+
+    private BatchComparison(EqualLibConfig config, Executor executor, int parallelism, boolean stopOnMismatch) {
+        this.config = config;
+        this.executor = executor;
+        this.waiting = new Semaphore(Math.max(1, parallelism) * MAX_BATCHES_PER_THREAD);
+        this.stopOnMismatch = stopOnMismatch;
+
+        // The plans of the configuration are resolved once for the whole batch
+        config.getPlans();
+    }
+
+
+    /**
+     * Compare all pairs.
+     *
+     * @param pairs       Pairs to compare
+     * @param config      Configuration for the comparison
+     * @param executor    Executor running the comparisons
+     * @param parallelism Expected number of threads of the executor
+     * @return Bit set of the results (the bit of the pair is set if the objects are deeply equal)
+     */
+    static BitSet compareAll(Iterator<Pair> pairs, EqualLibConfig config, Executor executor, int parallelism) {
+        BatchComparison comparison = new BatchComparison(config, executor, parallelism, false);
+        List<Batch> batches = comparison.submitAll(pairs);
+
+        long[] words = new long[batches.size()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = batches.get(i).join();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Compare the pairs until the first mismatch.
+     *
+     * @param pairs       Pairs to compare
+     * @param config      Configuration for the comparison
+     * @param executor    Executor running the comparisons
+     * @param parallelism Expected number of threads of the executor
+     * @return true if the objects of all pairs are deeply equal, false otherwise
+     */
+    static boolean allEqual(Iterator<Pair> pairs, EqualLibConfig config, Executor executor, int parallelism) {
+        BatchComparison comparison = new BatchComparison(config, executor, parallelism, true);
+        for (Batch batch : comparison.submitAll(pairs)) {
+            batch.join();
+        }
+        return !comparison.stopped.get();
+    }
+
+
+    /**
+     * Take the pairs from the iterator in batches and submit a task for every batch.
+     * When too many batches are waiting, the batch is compared by the calling thread.
+     *
+     * @param pairs Pairs to compare
+     * @return Batches in the order of the pairs
+     */
+    private List<Batch> submitAll(Iterator<Pair> pairs) {
+        List<Batch> batches = new ArrayList<>();
+
+        while (pairs.hasNext() && !stopped.get()) {
+            Pair[] pairsOfBatch = new Pair[BATCH_SIZE];
+            int size = 0;
+            while (size < BATCH_SIZE && pairs.hasNext()) {
+                pairsOfBatch[size++] = pairs.next();
+            }
+
+            Batch batch = new Batch(pairsOfBatch, size);
+            batches.add(batch);
+            if (!waiting.tryAcquire()) {
+                batch.run();
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        batch.run();
+                    } finally {
+                        waiting.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                waiting.release();
+                throw e;
+            }
+        }
+
+        return batches;
+    }
+
+    /**
+     * Compare the pairs of one batch.
+     *
+     * @param batch Pairs of the batch
+     * @param size  Number of pairs in the batch
+     * @return Word with the bit of every equal pair set
+     */
+    private long compareBatch(Pair[] batch, int size) {
+        long word = 0;
+        for (int i = 0; i < size && !stopped.get(); i++) {
+            Pair pair = batch[i];
+            if (EqualLib.areEqual(pair.getFirst(), pair.getSecond(), config)) {
+                word |= 1L << i;
+            } else if (stopOnMismatch) {
+                stopped.set(true);
+            }
+        }
+        return word;
+    }
+
+
+    /**
+     * One batch of pairs, compared by the first thread that claims it (a thread of the executor or the caller).
+     */
+    private final class Batch implements Runnable {
+
+        private final Pair[] pairs;
+        private final int size;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private Batch(Pair[] pairs, int size) {
+            this.pairs = pairs;
+            this.size = size;
+        }
+
+        /**
+         * Compare the pairs if no other thread has claimed the batch.
+         */
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(compareBatch(pairs, size));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Wait for the result of the batch, the batch is compared by the calling thread if it is still waiting
+         * (the exception of the comparison is rethrown as it is).
+         */
+        private long join() {
+            run();
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.romiiis.core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Eager resolution of the class metadata (fields and comparison plans) and its persistence.
+ * <p>
+ * The metadata file lists the fields of every class in the order they are compared, one class per line:
+ * {@code class<TAB>declaringClass#field:type<TAB>...}. Loading the file resolves the listed fields by name,
+ * so the classes do not have to be walked again. The file belongs to one build of the classes,
+ * a class whose listed field is missing or has another type is skipped (and resolved lazily as before).
+ * The same fields can be written as a GraalVM native-image reflection configuration.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib#warmUp(EqualLibConfig, Class[])
+ */
+final class ClassMetadata {
+
+    /**
+     * First line of the metadata file
+     */
+    private static final String HEADER = "# EqualLib metadata 1";
+
+
+    private ClassMetadata() {
+    }
+
+
+    /**
+     * Build the fields and comparison plans of the classes and of all classes reachable by their fields.
+     * <p>
+     * The declared types of the fields are followed (including the type arguments, e.g. the element type
+     * of {@code List<Address>}), interfaces and abstract classes are skipped because no object has them as its class.
+     * </p>
+     *
+     * @param config Configuration for the comparison
+     * @param roots  Classes to start from
+     * @return The classes with a built plan (in the order they were reached)
+     */
+    static List<Class<?>> warmUp(EqualLibConfig config, Class<?>... roots) {
+        List<Class<?>> warmed = new ArrayList<>();
+        Set<Class<?>> seen = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>(List.of(roots));
+
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (!seen.add(type)) {
+                continue;
+            }
+            if (type.isArray()) {
+                pending.add(type.getComponentType());
+                continue;
+            }
+            if (type.isPrimitive() || EqualLib.isWrapperOrString(type)) {
+                continue;
+            }
+
+            // The fields are resolved explicitly, not as a side effect of building the plan (which can already exist).
+            // The walk itself precomputes the metadata, so it resolves them even in the precomputed-only mode
+            try {
+                EqualLib.getCachedFields(type);
+            } catch (InaccessibleObjectException e) {
+                // The package is not open, the plan fails only if the class is compared by its fields
+            }
+            ComparisonPlan plan = EqualLib.getPlan(type, config);
+            warmed.add(type);
+
+            for (ComparisonPlan.FieldSlot slot : plan.getReferenceSlots()) {
+                addReachable(slot.accessor().getField().getGenericType(), pending);
+            }
+        }
+        return warmed;
+    }
+
+    /**
+     * Resolve the fields of the classes reachable from the roots that are compared by reflection.
+     * <p>
+     * The fields are resolved for every class (not read from the field cache, which can be cleared meanwhile).
+     * Classes compared without their fields (by a generated comparator, equals or as collections) are left out.
+     * </p>
+     *
+     * @param config Configuration for the comparison
+     * @param roots  Classes to start from
+     * @return Fields of the classes (in the order they were reached)
+     * @throws InaccessibleObjectException If the package of a class compared by reflection is not open
+     */
+    static Map<Class<?>, Field[]> resolve(EqualLibConfig config, Class<?>... roots) {
+        Map<Class<?>, Field[]> resolved = new LinkedHashMap<>();
+        for (Class<?> type : warmUp(config, roots)) {
+            ComparisonPlan plan = EqualLib.getPlan(type, config);
+            if (plan.getStrategy() != ComparisonPlan.Strategy.FIELDS || plan.getGeneratedComparator() != null) {
+                continue;
+            }
+            resolved.put(type, EqualLib.getCachedFields(type));
+        }
+        return resolved;
+    }
+
+    /**
+     * Add the classes of the declared type that can be the class of an object.
+     */
+    private static void addReachable(Type type, Deque<Class<?>> pending) {
+        if (type instanceof Class<?> c) {
+            if (c.isArray() || (!c.isInterface() && !Modifier.isAbstract(c.getModifiers()))) {
+                pending.add(c);
+            }
+        } else if (type instanceof ParameterizedType parameterized) {
+            addReachable(parameterized.getRawType(), pending);
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                addReachable(argument, pending);
+            }
+        } else if (type instanceof GenericArrayType array) {
+            addReachable(array.getGenericComponentType(), pending);
+        } else if (type instanceof WildcardType wildcard) {
+            for (Type bound : wildcard.getUpperBounds()) {
+                addReachable(bound, pending);
+            }
+        }
+    }
+
+
+    /**
+     * Write the fields of the classes to the file.
+     *
+     * @param file   The metadata file (replaced if it exists)
+     * @param fields Fields of the classes
+     * @throws IOException If the file cannot be written
+     */
+    static void save(Path file, Map<Class<?>, Field[]> fields) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<Class<?>, Field[]> entry : fields.entrySet()) {
+                writer.write(entry.getKey().getName());
+                for (Field field : entry.getValue()) {
+                    writer.write('\t');
+                    writer.write(field.getDeclaringClass().getName() + "#" + field.getName() + ":" + field.getType().getName());
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Write the fields of the classes as a GraalVM native-image reflection configuration.
+     * Every field is registered with its declaring class, classes without fields are registered too
+     * (they are looked up by name when the metadata is loaded).
+     *
+     * @param file   The reflect-config.json file (replaced if it exists)
+     * @param fields Fields of the classes
+     * @return Number of registered classes
+     * @throws IOException If the file cannot be written
+     */
+    static int writeReflectConfig(Path file, Map<Class<?>, Field[]> fields) throws IOException {
+        Map<Class<?>, Set<String>> declared = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, Field[]> entry : fields.entrySet()) {
+            declared.computeIfAbsent(entry.getKey(), k -> new LinkedHashSet<>());
+            for (Field field : entry.getValue()) {
+                declared.computeIfAbsent(field.getDeclaringClass(), k -> new LinkedHashSet<>()).add(field.getName());
+            }
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("[");
+            String separator = "\n";
+            for (Map.Entry<Class<?>, Set<String>> entry : declared.entrySet()) {
+                writer.write(separator);
+                writer.write("  {\n    \"name\": \"" + entry.getKey().getName() + "\"");
+                if (!entry.getValue().isEmpty()) {
+                    writer.write(",\n    \"fields\": [");
+                    String fieldSeparator = "\n";
+                    for (String name : entry.getValue()) {
+                        writer.write(fieldSeparator + "      { \"name\": \"" + name + "\" }");
+                        fieldSeparator = ",\n";
+                    }
+                    writer.write("\n    ]");
+                }
+                writer.write("\n  }");
+                separator = ",\n";
+            }
+            writer.write("\n]\n");
+        }
+        return declared.size();
+    }
+
+    /**
+     * Read the fields of the classes from the file.
+     * Classes that cannot be found, whose fields changed or cannot be made accessible are skipped.
+     *
+     * @param file   The metadata file
+     * @param loader Class loader of the listed classes
+     * @return Fields of the classes (accessible, in the order they were saved)
+     * @throws IOException If the file cannot be read or it is not a metadata file
+     */
+    static Map<Class<?>, Field[]> load(Path file, ClassLoader loader) throws IOException {
+        Map<Class<?>, Field[]> loaded = new LinkedHashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("Not an EqualLib metadata file: " + file);
+            }
+            for (String line; (line = reader.readLine()) != null; ) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] parts = line.split("\t");
+                try {
+                    Class<?> type = Class.forName(parts[0], false, loader);
+                    Field[] fields = new Field[parts.length - 1];
+                    for (int i = 1; i < parts.length; i++) {
+                        fields[i - 1] = resolve(parts[i], loader);
+                    }
+                    AccessibleObject.setAccessible(fields, true);
+                    loaded.put(type, fields);
+                } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                    // The class changed since the file was written (or its package is not open), it is resolved lazily
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Resolve the field written as {@code declaringClass#field:type}.
+     */
+    private static Field resolve(String entry, ClassLoader loader) throws ReflectiveOperationException {
+        int hash = entry.indexOf('#');
+        int colon = entry.indexOf(':', hash);
+        if (hash < 0 || colon < 0) {
+            throw new NoSuchFieldException(entry);
+        }
+
+        Class<?> declaring = Class.forName(entry.substring(0, hash), false, loader);
+        Field field = declaring.getDeclaredField(entry.substring(hash + 1, colon));
+        if (!field.getType().getName().equals(entry.substring(colon + 1))) {
+            throw new NoSuchFieldException(entry);
+        }
+        return field;
+    }
+
+    /**
+     * Get the class loader used to resolve the classes of a metadata file.
+     *
+     * @return The context class loader of the thread (or the loader of EqualLib if there is none)
+     */
+    static ClassLoader defaultLoader() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return loader != null ? loader : ClassMetadata.class.getClassLoader();
+    }
+
+    /**
+     * Build the comparison plans of the classes.
+     *
+     * @param config  Configuration for the comparison
+     * @param classes The classes
+     */
+    static void buildPlans(EqualLibConfig config, Collection<Class<?>> classes) {
+        for (Class<?> type : classes) {
+            EqualLib.getPlan(type, config);
+        }
+    }
+}
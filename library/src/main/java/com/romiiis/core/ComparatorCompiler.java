@@ -0,0 +1,337 @@
+package com.romiiis.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates specialized comparators for hot classes as hidden classes.
+ * <p>
+ * The generated class extends {@link CompiledComparator} and keeps the field getters of the plan in
+ * static final fields (the JIT treats them as constants and inlines the field reads).
+ * Its diff method reads every primitive and value-type field of both objects and combines the differences
+ * without any branch, so the class needs no stack map frames:
+ * </p>
+ * <pre>
+ * long diff(Object a, Object b) {
+ *     long d = 0;
+ *     d |= (int) G0.invokeExact(a) ^ (int) G0.invokeExact(b);       // int, short, char, byte, boolean, float
+ *     d |= (long) G1.invokeExact(a) ^ (long) G1.invokeExact(b);     // long, double
+ *     d |= Objects.equals(G2.invokeExact(a), G2.invokeExact(b)) ^ 1; // wrappers and String
+ *     return d;
+ * }
+ * </pre>
+ * <p>
+ * The class is defined in this package, so it does not need access to the compared class itself.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see CompiledComparator
+ */
+final class ComparatorCompiler {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Maximum number of compiled slots (keeps the generated method far below the 64 KB code limit)
+     */
+    private static final int MAX_SLOTS = 1000;
+
+    private static final String SUPER_CLASS = "com/romiiis/core/CompiledComparator";
+    private static final String THIS_CLASS = "com/romiiis/core/CompiledComparator$Generated";
+    private static final String MH = "java/lang/invoke/MethodHandle";
+    private static final String MH_DESC = "Ljava/lang/invoke/MethodHandle;";
+
+    private static final MethodHandle FLOAT_TO_INT_BITS;
+    private static final MethodHandle DOUBLE_TO_LONG_BITS;
+
+    static {
+        try {
+            FLOAT_TO_INT_BITS = LOOKUP.findStatic(Float.class, "floatToIntBits", MethodType.methodType(int.class, float.class));
+            DOUBLE_TO_LONG_BITS = LOOKUP.findStatic(Double.class, "doubleToLongBits", MethodType.methodType(long.class, double.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+
+    private ComparatorCompiler() {
+    }
+
+
+    /**
+     * Generate the comparator for the plan.
+     *
+     * @param plan Plan of the class (strategy {@link ComparisonPlan.Strategy#FIELDS})
+     * @return The generated comparator or null if the class cannot be compiled
+     */
+    static CompiledComparator compile(ComparisonPlan plan) {
+        List<MethodHandle> getters = new ArrayList<>();
+        List<Character> shapes = new ArrayList<>();
+
+        for (ComparisonPlan.FieldSlot slot : plan.getSlots()) {
+            if (slot.kind() == ComparisonPlan.SlotKind.REFERENCE || slot.kind() == ComparisonPlan.SlotKind.IDENTITY) {
+                continue;
+            }
+            MethodHandle getter = slot.accessor().getGetter();
+            Class<?> type = getter.type().returnType();
+
+            if (type == long.class) {
+                shapes.add('J');
+            } else if (type == double.class) {
+                getter = MethodHandles.filterReturnValue(getter, DOUBLE_TO_LONG_BITS);
+                shapes.add('J');
+            } else if (type == float.class) {
+                getter = MethodHandles.filterReturnValue(getter, FLOAT_TO_INT_BITS);
+                shapes.add('I');
+            } else if (type.isPrimitive()) {
+                getter = MethodHandles.explicitCastArguments(getter, MethodType.methodType(int.class, Object.class));
+                shapes.add('I');
+            } else {
+                shapes.add('L');
+            }
+            getters.add(getter);
+        }
+
+        if (getters.isEmpty() || getters.size() > MAX_SLOTS) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = generate(shapes);
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClassWithClassData(bytes, getters.toArray(new MethodHandle[0]), true);
+            return (CompiledComparator) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            // The reflective plan is used instead
+            return null;
+        }
+    }
+
+
+    /**
+     * Generate the class file of the comparator.
+     *
+     * @param shapes Shape of each compiled slot (I = int result, J = long result, L = object compared by equals)
+     * @return The class file
+     */
+    private static byte[] generate(List<Character> shapes) throws IOException {
+        ConstantPool cp = new ConstantPool();
+
+        int thisClass = cp.classRef(THIS_CLASS);
+        int superClass = cp.classRef(SUPER_CLASS);
+        int superInit = cp.methodRef(SUPER_CLASS, "<init>", "()V");
+
+        int[] fieldRefs = new int[shapes.size()];
+        for (int i = 0; i < shapes.size(); i++) {
+            fieldRefs[i] = cp.fieldRef(THIS_CLASS, "G" + i, MH_DESC);
+        }
+
+        int invokeInt = cp.methodRef(MH, "invokeExact", "(Ljava/lang/Object;)I");
+        int invokeLong = cp.methodRef(MH, "invokeExact", "(Ljava/lang/Object;)J");
+        int invokeObject = cp.methodRef(MH, "invokeExact", "(Ljava/lang/Object;)Ljava/lang/Object;");
+        int objectsEquals = cp.methodRef("java/util/Objects", "equals", "(Ljava/lang/Object;Ljava/lang/Object;)Z");
+        int lookup = cp.methodRef("java/lang/invoke/MethodHandles", "lookup", "()Ljava/lang/invoke/MethodHandles$Lookup;");
+        int classData = cp.methodRef("java/lang/invoke/MethodHandles", "classData",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;");
+        int defaultName = cp.string("_");
+        int getterArray = cp.classRef("[" + MH_DESC);
+
+        // Constructor: super()
+        ByteArrayOutputStream init = new ByteArrayOutputStream();
+        DataOutputStream initCode = new DataOutputStream(init);
+        initCode.writeByte(0x2A);                   // aload_0
+        initCode.writeByte(0xB7);                   // invokespecial
+        initCode.writeShort(superInit);
+        initCode.writeByte(0xB1);                   // return
+
+        // Static initializer: G0..Gn = (MethodHandle[]) classData(lookup(), "_", MethodHandle[].class)
+        ByteArrayOutputStream clinit = new ByteArrayOutputStream();
+        DataOutputStream clinitCode = new DataOutputStream(clinit);
+        clinitCode.writeByte(0xB8);                 // invokestatic lookup
+        clinitCode.writeShort(lookup);
+        clinitCode.writeByte(0x13);                 // ldc_w "_"
+        clinitCode.writeShort(defaultName);
+        clinitCode.writeByte(0x13);                 // ldc_w MethodHandle[].class
+        clinitCode.writeShort(getterArray);
+        clinitCode.writeByte(0xB8);                 // invokestatic classData
+        clinitCode.writeShort(classData);
+        clinitCode.writeByte(0xC0);                 // checkcast MethodHandle[]
+        clinitCode.writeShort(getterArray);
+        clinitCode.writeByte(0x4B);                 // astore_0
+        for (int i = 0; i < shapes.size(); i++) {
+            clinitCode.writeByte(0x2A);             // aload_0
+            clinitCode.writeByte(0x11);             // sipush i
+            clinitCode.writeShort(i);
+            clinitCode.writeByte(0x32);             // aaload
+            clinitCode.writeByte(0xB3);             // putstatic Gi
+            clinitCode.writeShort(fieldRefs[i]);
+        }
+        clinitCode.writeByte(0xB1);                 // return
+
+        // diff(Object a, Object b): locals 1 = a, 2 = b, 3-4 = accumulated difference
+        ByteArrayOutputStream diff = new ByteArrayOutputStream();
+        DataOutputStream diffCode = new DataOutputStream(diff);
+        diffCode.writeByte(0x09);                   // lconst_0
+        diffCode.writeByte(0x42);                   // lstore_3
+        for (int i = 0; i < shapes.size(); i++) {
+            char shape = shapes.get(i);
+            int invoke = shape == 'I' ? invokeInt : shape == 'J' ? invokeLong : invokeObject;
+
+            for (int operand = 1; operand <= 2; operand++) {
+                diffCode.writeByte(0xB2);           // getstatic Gi
+                diffCode.writeShort(fieldRefs[i]);
+                diffCode.writeByte(operand == 1 ? 0x2B : 0x2C); // aload_1 / aload_2
+                diffCode.writeByte(0xB6);           // invokevirtual invokeExact
+                diffCode.writeShort(invoke);
+            }
+
+            if (shape == 'I') {
+                diffCode.writeByte(0x82);           // ixor
+                diffCode.writeByte(0x85);           // i2l
+            } else if (shape == 'J') {
+                diffCode.writeByte(0x83);           // lxor
+            } else {
+                diffCode.writeByte(0xB8);           // invokestatic Objects.equals
+                diffCode.writeShort(objectsEquals);
+                diffCode.writeByte(0x04);           // iconst_1
+                diffCode.writeByte(0x82);           // ixor
+                diffCode.writeByte(0x85);           // i2l
+            }
+            diffCode.writeByte(0x21);               // lload_3
+            diffCode.writeByte(0x81);               // lor
+            diffCode.writeByte(0x42);               // lstore_3
+        }
+        diffCode.writeByte(0x21);                   // lload_3
+        diffCode.writeByte(0xAD);                   // lreturn
+
+        int codeName = cp.utf8("Code");
+        int initName = cp.utf8("<init>");
+        int initDesc = cp.utf8("()V");
+        int clinitName = cp.utf8("<clinit>");
+        int diffName = cp.utf8("diff");
+        int diffDesc = cp.utf8("(Ljava/lang/Object;Ljava/lang/Object;)J");
+        int fieldDesc = cp.utf8(MH_DESC);
+        int[] fieldNames = new int[shapes.size()];
+        for (int i = 0; i < shapes.size(); i++) {
+            fieldNames[i] = cp.utf8("G" + i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);                          // minor version
+        out.writeShort(61);                         // major version (Java 17)
+        cp.write(out);
+        out.writeShort(0x0030);                     // ACC_FINAL | ACC_SUPER
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0);                          // interfaces
+
+        out.writeShort(shapes.size());
+        for (int i = 0; i < shapes.size(); i++) {
+            out.writeShort(0x001A);                 // ACC_PRIVATE | ACC_STATIC | ACC_FINAL
+            out.writeShort(fieldNames[i]);
+            out.writeShort(fieldDesc);
+            out.writeShort(0);
+        }
+
+        out.writeShort(3);
+        writeMethod(out, 0x0000, initName, initDesc, codeName, 1, 1, init.toByteArray());
+        writeMethod(out, 0x0008, clinitName, initDesc, codeName, 3, 1, clinit.toByteArray());
+        writeMethod(out, 0x0000, diffName, diffDesc, codeName, 6, 5, diff.toByteArray());
+
+        out.writeShort(0);                          // class attributes
+        return bytes.toByteArray();
+    }
+
+
+    /**
+     * Write one method with its Code attribute.
+     */
+    private static void writeMethod(DataOutputStream out, int access, int name, int descriptor, int codeName,
+                                    int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);                          // exception table
+        out.writeShort(0);                          // code attributes
+    }
+
+
+    /**
+     * Constant pool of the generated class, equal entries are stored only once.
+     */
+    private static final class ConstantPool {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) throws IOException {
+            Integer index = entries.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            out.writeByte(1);
+            out.writeUTF(value);
+            entries.put("U" + value, count);
+            return count++;
+        }
+
+        int classRef(String internalName) throws IOException {
+            return reference("C", 7, utf8(internalName), -1);
+        }
+
+        int string(String value) throws IOException {
+            return reference("S", 8, utf8(value), -1);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) throws IOException {
+            return reference("F", 9, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        int methodRef(String owner, String name, String descriptor) throws IOException {
+            return reference("M", 10, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        private int nameAndType(String name, String descriptor) throws IOException {
+            return reference("N", 12, utf8(name), utf8(descriptor));
+        }
+
+        private int reference(String prefix, int tag, int first, int second) throws IOException {
+            String key = prefix + first + ":" + second;
+            Integer index = entries.get(key);
+            if (index != null) {
+                return index;
+            }
+            out.writeByte(tag);
+            out.writeShort(first);
+            if (second >= 0) {
+                out.writeShort(second);
+            }
+            entries.put(key, count);
+            return count++;
+        }
+
+        void write(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+    }
+}
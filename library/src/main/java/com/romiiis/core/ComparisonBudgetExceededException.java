@@ -0,0 +1,23 @@
+package com.romiiis.core;
+
+/**
+ * Thrown by a comparison returning a boolean when it is stopped before it ends
+ * (the budget of the configuration was exceeded or the comparing thread was interrupted).
+ * The objects may or may not be equal, {@link EqualLib#compare(Object, Object, EqualLibConfig)} returns
+ * {@link ComparisonResult#BUDGET_EXCEEDED} instead of throwing.
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLibConfig#setMaxVisitedPairs(long)
+ * @see EqualLibConfig#setMaxFieldsRead(long)
+ * @see EqualLibConfig#setTimeLimit(java.time.Duration)
+ */
+public class ComparisonBudgetExceededException extends RuntimeException {
+
+    /**
+     * Constructor for the ComparisonBudgetExceededException class.
+     */
+    public ComparisonBudgetExceededException() {
+        super("The comparison was stopped before it ended (its budget was exceeded or the thread was interrupted)");
+    }
+}
@@ -0,0 +1,79 @@
+package com.romiiis.core;
+
+import com.romiiis.util.PairDeque;
+
+/**
+ * Reusable working structures of one comparison (the queue of pairs and the visited pairs).
+ * <p>
+ * Every thread keeps one context, so a comparison does not allocate its structures again.
+ * After the comparison the structures are cleared, and shrunk if they grew over {@link #MAX_RETAINED_CAPACITY},
+ * so a single huge comparison does not keep its memory forever.
+ * A comparison started while the context of the thread is in use (e.g. from a custom equals method)
+ * gets a new context.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib
+ */
+final class ComparisonContext {
+
+    /**
+     * Maximum number of slots of the queue and of the visited pairs kept for the next comparison
+     */
+    static final int MAX_RETAINED_CAPACITY = 1 << 12;
+
+    private static final ThreadLocal<ComparisonContext> CONTEXT = ThreadLocal.withInitial(ComparisonContext::new);
+
+    private final PairDeque queue = new PairDeque();
+    private final VisitedPairs visited = new VisitedPairs();
+    private boolean inUse;
+
+
+    private ComparisonContext() {
+    }
+
+
+    /**
+     * Get the context of the current thread (or a new context if it is already in use).
+     * The context must be returned by {@link #release()}.
+     *
+     * @return The context for the comparison
+     */
+    static ComparisonContext acquire() {
+        ComparisonContext context = CONTEXT.get();
+        if (context.inUse) {
+            context = new ComparisonContext();
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    /**
+     * Clear the structures of the context and make it available for the next comparison.
+     */
+    void release() {
+        queue.reset(MAX_RETAINED_CAPACITY);
+        visited.reset(MAX_RETAINED_CAPACITY);
+        inUse = false;
+    }
+
+
+    /**
+     * Get the queue of pairs to compare.
+     *
+     * @return The queue
+     */
+    PairDeque getQueue() {
+        return queue;
+    }
+
+    /**
+     * Get the visited pairs (root layer).
+     *
+     * @return The visited pairs
+     */
+    VisitedPairs getVisited() {
+        return visited;
+    }
+}
@@ -0,0 +1,145 @@
+package com.romiiis.core;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Monitor of a comparison that can be stopped before it ends.
+ * <p>
+ * The comparing threads report the number of compared pairs every {@link #getCheckInterval()} pairs.
+ * When the future of an asynchronous comparison is already done (cancelled or completed by the caller),
+ * the report throws {@link AbortedException}. When the budget of the configuration is exceeded
+ * or the thread that started the comparison is interrupted, it throws {@link BudgetExceededException}.
+ * The progress listener is called every {@link #PROGRESS_INTERVAL} pairs.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib#compare(Object, Object, EqualLibConfig)
+ * @see EqualLib#areEqualAsync(Object, Object, EqualLibConfig, java.util.concurrent.Executor, LongConsumer)
+ */
+final class ComparisonMonitor {
+
+    /**
+     * Maximum number of compared pairs between the reports of a thread
+     */
+    static final int CHECK_INTERVAL = 1 << 10;
+
+    /**
+     * Number of compared pairs between the calls of the progress listener
+     */
+    static final int PROGRESS_INTERVAL = 1 << 16;
+
+    private final Future<?> future;
+    private final LongConsumer progressListener;
+    private final Thread owner;
+
+    private final long maxVisitedPairs;
+    private final long maxFieldsRead;
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final int checkInterval;
+
+    private final AtomicLong compared = new AtomicLong();
+    private final LongAdder fieldsRead = new LongAdder();
+
+
+    /**
+     * Constructor for the ComparisonMonitor class (called by the thread starting the comparison).
+     *
+     * @param config           Configuration with the budget of the comparison
+     * @param future           Future of an asynchronous comparison (null for a synchronous comparison)
+     * @param progressListener Listener of the progress (can be null)
+     */
+    ComparisonMonitor(EqualLibConfig config, Future<?> future, LongConsumer progressListener) {
+        this.future = future;
+        this.progressListener = progressListener;
+        this.owner = Thread.currentThread();
+
+        this.maxVisitedPairs = config.getMaxVisitedPairs();
+        this.maxFieldsRead = config.getMaxFieldsRead();
+        this.hasDeadline = config.getTimeLimit() != null;
+        this.deadline = hasDeadline ? System.nanoTime() + config.getTimeLimit().toNanos() : 0;
+
+        // A small pair budget is checked exactly
+        this.checkInterval = maxVisitedPairs == -1 ? CHECK_INTERVAL : (int) Math.min(CHECK_INTERVAL, maxVisitedPairs + 1);
+    }
+
+
+    /**
+     * Create the monitor of a synchronous comparison.
+     *
+     * @param config Configuration of the comparison
+     * @return The monitor, null if the configuration has no budget
+     */
+    static ComparisonMonitor of(EqualLibConfig config) {
+        return config.hasBudget() ? new ComparisonMonitor(config, null, null) : null;
+    }
+
+
+    /**
+     * Get the number of compared pairs after which a thread reports them.
+     *
+     * @return The number of pairs
+     */
+    int getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Report compared pairs.
+     *
+     * @param count Number of pairs compared since the last report of the thread
+     * @throws AbortedException        if the future of the comparison is already done
+     * @throws BudgetExceededException if the budget is exceeded or the comparing thread is interrupted
+     */
+    void pairsCompared(int count) {
+        if (future != null && future.isDone()) {
+            throw new AbortedException();
+        }
+
+        long total = compared.addAndGet(count);
+        if (owner.isInterrupted()
+                || (maxVisitedPairs != -1 && total > maxVisitedPairs)
+                || (maxFieldsRead != -1 && fieldsRead.sum() > maxFieldsRead)
+                || (hasDeadline && System.nanoTime() - deadline > 0)) {
+            throw new BudgetExceededException();
+        }
+
+        if (progressListener != null && total / PROGRESS_INTERVAL != (total - count) / PROGRESS_INTERVAL) {
+            progressListener.accept(total);
+        }
+    }
+
+    /**
+     * Report read fields (or array elements) of a compared pair, the budget is checked with the next report of pairs.
+     *
+     * @param count Number of read fields
+     */
+    void fieldsRead(int count) {
+        fieldsRead.add(count);
+    }
+
+
+    /**
+     * Thrown to stop a comparison whose result is not needed anymore.
+     */
+    static final class AbortedException extends RuntimeException {
+
+        AbortedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Thrown to stop a comparison that exceeded its budget.
+     */
+    static final class BudgetExceededException extends RuntimeException {
+
+        BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.romiiis.core;
+
+import com.romiiis.spi.DeepComparator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precompiled description of how two instances of one class are compared.
+ * <p>
+ * A plan is built once per class and per configuration (see {@link #tableFor(EqualLibConfig)}).
+ * It already contains the decision how the objects are compared (custom equals, value, array, collection
+ * or field by field) and, for field comparison, the list of fields that are not ignored, split into
+ * primitive, value-type and reference slots. The comparison loop then only executes the plan.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib
+ */
+final class ComparisonPlan {
+
+    /**
+     * Plan tables shared between all configurations with the same plan-relevant settings.
+     * The key is the fingerprint of the configuration, the value maps classes to their plans.
+     */
+    private static final Map<List<Object>, Map<Class<?>, ComparisonPlan>> PLAN_TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * Number of times the plans were cleared (configurations holding a table of an older generation look it up again)
+     */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+
+    /**
+     * How two objects of the planned class are compared.
+     */
+    enum Strategy {
+        /** The equals method of the class is used (class is listed in custom equals classes). */
+        CUSTOM_EQUALS,
+        /** Primitives, wrappers and String, compared by equals. */
+        VALUE,
+        /** Arrays, compared index by index. */
+        ARRAY,
+        /** Collections and maps compared by elements. */
+        COLLECTION,
+        /** Objects compared field by field. */
+        FIELDS
+    }
+
+    /**
+     * How a single field is compared.
+     */
+    enum SlotKind {
+        /** Field of a primitive type, compared by value. */
+        PRIMITIVE,
+        /** Field declared as a wrapper or String (or annotated by {@code EqualUseEquals}), compared by equals. */
+        VALUE,
+        /** Field annotated by {@code EqualShallow}, compared by identity. */
+        IDENTITY,
+        /** Any other field, the runtime value decides if it is compared by equals or enqueued. */
+        REFERENCE
+    }
+
+    /**
+     * One compared field of the planned class.
+     *
+     * @param accessor Typed access to the field
+     * @param kind     How the field is compared
+     */
+    record FieldSlot(FieldAccessor accessor, SlotKind kind) {
+
+        /**
+         * Get the name of the field.
+         *
+         * @return The name of the field.
+         */
+        String name() {
+            return accessor.getField().getName();
+        }
+    }
+
+
+    private final Class<?> type;
+    private final Strategy strategy;
+    private final FieldSlot[] slots;
+    private final FieldSlot[] referenceSlots;
+
+    /**
+     * Comparator generated for the class at compile time (null if there is none or the configuration changes the class)
+     */
+    private final DeepComparator<Object> generatedComparator;
+
+    /**
+     * Number of instance fields of the class (read by a comparison of its objects, also by the generated comparator)
+     */
+    private final int fieldCount;
+
+    /**
+     * Number of executions of the plan (counted until the comparator is compiled, races only delay the compilation)
+     */
+    private int invocations;
+
+    /**
+     * Comparator generated for the class once the plan is hot
+     */
+    private volatile CompiledComparator compiled;
+
+    /**
+     * True if the class cannot be compiled
+     */
+    private volatile boolean compilationFailed;
+
+    /**
+     * Fields used for the structural hash when only inherited fields are compared (resolved lazily)
+     */
+    private volatile FieldSlot[] inheritedHashSlots;
+
+
+    /**
+     * Constructor for the ComparisonPlan class.
+     *
+     * @param type     The planned class.
+     * @param strategy How the objects of the class are compared.
+     * @param slots    Compared fields (empty unless the strategy is {@link Strategy#FIELDS}).
+     */
+    ComparisonPlan(Class<?> type, Strategy strategy, FieldSlot[] slots) {
+        this(type, strategy, slots, null, slots.length);
+    }
+
+    /**
+     * Constructor for the ComparisonPlan class.
+     *
+     * @param type                The planned class.
+     * @param strategy            How the objects of the class are compared.
+     * @param slots               Compared fields (empty unless the strategy is {@link Strategy#FIELDS}, and empty
+     *                            if the class is compared by the generated comparator).
+     * @param generatedComparator Comparator generated for the class at compile time (can be null).
+     * @param fieldCount          Number of instance fields of the class.
+     */
+    ComparisonPlan(Class<?> type, Strategy strategy, FieldSlot[] slots, DeepComparator<Object> generatedComparator, int fieldCount) {
+        this.type = type;
+        this.generatedComparator = generatedComparator;
+        this.fieldCount = fieldCount;
+        this.strategy = strategy;
+        this.slots = slots;
+        this.referenceSlots = Arrays.stream(slots)
+                .filter(slot -> slot.kind() == SlotKind.REFERENCE || slot.kind() == SlotKind.IDENTITY)
+                .toArray(FieldSlot[]::new);
+    }
+
+
+    /**
+     * Get the plan table for the configuration.
+     * Configurations with the same ignored field paths, custom equals classes and collection mode share the table.
+     *
+     * @param config Configuration for the comparison
+     * @return Map of classes to their plans
+     */
+    static Map<Class<?>, ComparisonPlan> tableFor(EqualLibConfig config) {
+        List<Object> fingerprint = List.of(
+                Set.copyOf(config.getIgnoredFieldPaths()),
+                Set.copyOf(config.getCustomEqualsClasses()),
+                config.isCompareCollectionsByElements());
+        return PLAN_TABLES.computeIfAbsent(fingerprint, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Clear all compiled plans
+     */
+    static void clearPlans() {
+        PLAN_TABLES.values().forEach(Map::clear);
+        PLAN_TABLES.clear();
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Get the current generation of the plan tables.
+     *
+     * @return Number of times the plans were cleared
+     */
+    static int generation() {
+        return GENERATION.get();
+    }
+
+
+    /**
+     * Get the planned class.
+     *
+     * @return The planned class.
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Get how the objects of the class are compared.
+     *
+     * @return The comparison strategy.
+     */
+    Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Get the compared fields.
+     *
+     * @return The compared fields.
+     */
+    FieldSlot[] getSlots() {
+        return slots;
+    }
+
+    /**
+     * Get the number of instance fields of the class, charged to the field budget of a comparison of its objects.
+     *
+     * @return The number of fields (also when the class is compared by the generated comparator).
+     */
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Get the comparator generated for the class at compile time.
+     *
+     * @return The comparator (null if there is none).
+     */
+    DeepComparator<Object> getGeneratedComparator() {
+        return generatedComparator;
+    }
+
+    /**
+     * Get the compared fields of the {@link SlotKind#REFERENCE} and {@link SlotKind#IDENTITY} kinds
+     * (the fields not compared by the generated comparator).
+     *
+     * @return The compared reference fields.
+     */
+    FieldSlot[] getReferenceSlots() {
+        return referenceSlots;
+    }
+
+
+    /**
+     * Get the comparator generated for the class.
+     * The comparator is generated when the plan is executed for the threshold-th time.
+     *
+     * @param threshold Number of executions before the comparator is generated (-1 to never use it)
+     * @return The generated comparator or null if the plan is not hot yet or cannot be compiled
+     */
+    CompiledComparator getCompiledComparator(int threshold) {
+        CompiledComparator comparator = compiled;
+        if (comparator != null || threshold < 0 || compilationFailed || strategy != Strategy.FIELDS) {
+            return threshold < 0 ? null : comparator;
+        }
+
+        if (++invocations < threshold) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (compiled == null && !compilationFailed) {
+                comparator = ComparatorCompiler.compile(this);
+                if (comparator == null) {
+                    compilationFailed = true;
+                }
+                compiled = comparator;
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Get the fields used for the structural hash when only inherited fields are compared.
+     *
+     * @return The hashed fields or null if not resolved yet.
+     */
+    FieldSlot[] getInheritedHashSlots() {
+        return inheritedHashSlots;
+    }
+
+    /**
+     * Set the fields used for the structural hash when only inherited fields are compared.
+     *
+     * @param inheritedHashSlots The hashed fields.
+     */
+    void setInheritedHashSlots(FieldSlot[] inheritedHashSlots) {
+        this.inheritedHashSlots = inheritedHashSlots;
+    }
+
+
+    @Override
+    public String toString() {
+        return "ComparisonPlan[" + type.getName() + ", " + strategy + ", slots=" + slots.length + "]";
+    }
+}
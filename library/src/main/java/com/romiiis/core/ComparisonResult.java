@@ -0,0 +1,27 @@
+package com.romiiis.core;
+
+/**
+ * Result of a comparison with a budget.
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib#compare(Object, Object, EqualLibConfig)
+ */
+public enum ComparisonResult {
+
+    /**
+     * The objects are deeply equal.
+     */
+    EQUAL,
+
+    /**
+     * The objects are not deeply equal.
+     */
+    NOT_EQUAL,
+
+    /**
+     * The comparison was stopped before it ended (the budget was exceeded or the thread was interrupted),
+     * the objects may or may not be equal.
+     */
+    BUDGET_EXCEEDED
+}
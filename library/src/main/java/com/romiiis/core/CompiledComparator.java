@@ -0,0 +1,24 @@
+package com.romiiis.core;
+
+/**
+ * Base class of the comparators generated at runtime by {@link ComparatorCompiler}.
+ * <p>
+ * A generated comparator compares all primitive and value-type fields of one class inline,
+ * reference fields are left to the comparison loop.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see ComparisonPlan
+ */
+abstract class CompiledComparator {
+
+    /**
+     * Compare the primitive and value-type fields of two objects of the compiled class.
+     *
+     * @param a First object
+     * @param b Second object
+     * @return 0 if all compared fields are equal, any other value otherwise
+     */
+    abstract long diff(Object a, Object b);
+}
@@ -0,0 +1,1574 @@
+package com.romiiis.core;
+
+import com.romiiis.annotation.EqualIgnore;
+import com.romiiis.annotation.EqualShallow;
+import com.romiiis.annotation.EqualUseEquals;
+import com.romiiis.spi.DeepComparator;
+import com.romiiis.util.Pair;
+import com.romiiis.util.PairDeque;
+
+import java.io.IOException;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+
+
+/**
+ * Main functionality of the library. Whole deepEquals implementation is in this class.
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see Pair
+ */
+public class EqualLib {
+
+    /**
+     * Cache for fields of classes
+     */
+    private static final Map<Class<?>, Field[]> FIELD_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Marker returned when no matching set element or map key is found (null is a valid element)
+     */
+    private static final Object NO_MATCH = new Object();
+
+    /**
+     * Configuration used when no configuration is given (never modified)
+     */
+    private static final EqualLibConfig DEFAULT_CONFIG = new EqualLibConfig();
+
+
+    /**
+     * Method that takes two objects and deep compares them to determine if they are equal
+     * <p>
+     * This method uses a breadth-first search algorithm to compare the objects.
+     * It compares the objects field by field and if the field is an object, it compares the fields of the object.
+     * If the field is a primitive type, it compares the values of the fields.
+     * Wrappers and String are compared by calling the equals' method.
+     * <br>
+     * Arrays are compared index by index.
+     * Lists are compared index by index.
+     * Maps are compared key by key.
+     * Sets (UNORDERED) are compared element by element.
+     * <br>
+     * Collection comparison is done with recursion.
+     * <br>
+     * Object can be null. If two objects are null, they are considered equal.
+     * </p>
+     *
+     * @param obj1 First object to compare (can be null)
+     * @param obj2 Second object to compare (can be null)
+     * @return True if the objects are deeply equal, false otherwise
+     */
+    public static boolean areEqual(Object obj1, Object obj2) {
+        return EqualLib.areEqual(obj1, obj2, DEFAULT_CONFIG);
+    }
+
+    /**
+     * Method that takes two objects and deep compares them to determine if they are equal
+     *
+     * @param obj1   First object to compare (can be null)
+     * @param obj2   Second object to compare (can be null)
+     * @param config Configuration for the comparison
+     * @return True if the objects are deeply equal, false otherwise
+     * @throws ComparisonBudgetExceededException If the budget of the configuration is exceeded or the thread is interrupted
+     * @see #compare(Object, Object, EqualLibConfig)
+     */
+    public static boolean areEqual(Object obj1, Object obj2, EqualLibConfig config) {
+        return isEqual(compare(obj1, obj2, config));
+    }
+
+    /**
+     * Get the boolean result of a comparison
+     *
+     * @param result Result of the comparison
+     * @return True if the objects are deeply equal, false otherwise
+     * @throws ComparisonBudgetExceededException If the comparison was stopped before it ended
+     */
+    private static boolean isEqual(ComparisonResult result) {
+        if (result == ComparisonResult.BUDGET_EXCEEDED) {
+            throw new ComparisonBudgetExceededException();
+        }
+        return result == ComparisonResult.EQUAL;
+    }
+
+    /**
+     * Deep compare two objects within the budget of the configuration
+     * <p>
+     * The comparison stops when it visits more pairs or reads more fields than allowed, when its time limit passes
+     * or when the comparing thread is interrupted (the interrupt status is kept). The budget is checked
+     * every few hundred pairs, so it can be slightly exceeded before the comparison stops.
+     * </p>
+     *
+     * @param obj1   First object to compare (can be null)
+     * @param obj2   Second object to compare (can be null)
+     * @param config Configuration for the comparison
+     * @return Result of the comparison
+     * @see EqualLibConfig#setMaxVisitedPairs(long)
+     * @see EqualLibConfig#setMaxFieldsRead(long)
+     * @see EqualLibConfig#setTimeLimit(java.time.Duration)
+     */
+    public static ComparisonResult compare(Object obj1, Object obj2, EqualLibConfig config) {
+        EqualLibConfig usedConfig = config == null ? DEFAULT_CONFIG : config;
+        return compare(obj1, obj2, usedConfig, ComparisonMonitor.of(usedConfig));
+    }
+
+
+    /**
+     * Compute the deep hash code of the object with the default configuration
+     *
+     * @param obj Object to hash (can be null)
+     * @return The deep hash code of the object
+     * @see #deepHashCode(Object, EqualLibConfig)
+     */
+    public static int deepHashCode(Object obj) {
+        return deepHashCode(obj, DEFAULT_CONFIG);
+    }
+
+    /**
+     * Compute the deep hash code of the object, consistent with {@link #areEqual(Object, Object, EqualLibConfig)}
+     * <p>
+     * Objects that are deeply equal with the configuration have the same deep hash code with it, so the objects can be
+     * put into hash-based structures by deep equality. The hash follows the same rules as the comparison
+     * (ignored fields, custom equals classes, inherited fields, collections by elements, maximum depth),
+     * sets and maps are hashed independently of their order. Only the first few levels and elements of the graph
+     * are hashed, so the hash terminates on cyclic graphs and its cost does not grow with the size of the graph.
+     * </p>
+     *
+     * @param obj    Object to hash (can be null)
+     * @param config Configuration for the comparison
+     * @return The deep hash code of the object
+     */
+    public static int deepHashCode(Object obj, EqualLibConfig config) {
+        return StructuralHasher.hash(obj, 0, config == null ? DEFAULT_CONFIG : config);
+    }
+
+
+    /**
+     * Deep compare two objects asynchronously by the executor
+     *
+     * @param obj1     First object to compare (can be null)
+     * @param obj2     Second object to compare (can be null)
+     * @param config   Configuration for the comparison
+     * @param executor Executor running the comparison
+     * @return Future completed with true if the objects are deeply equal, false otherwise
+     * @see #areEqualAsync(Object, Object, EqualLibConfig, Executor, LongConsumer)
+     */
+    public static CompletableFuture<Boolean> areEqualAsync(Object obj1, Object obj2, EqualLibConfig config, Executor executor) {
+        return areEqualAsync(obj1, obj2, config, executor, null);
+    }
+
+    /**
+     * Deep compare two objects asynchronously by the executor
+     * <p>
+     * Cancelling (or completing) the returned future stops the running comparison, it does not run to the end in the background.
+     * The progress listener is called by the comparing thread with the number of compared pairs
+     * (every {@link ComparisonMonitor#PROGRESS_INTERVAL} pairs).
+     * </p>
+     *
+     * @param obj1             First object to compare (can be null)
+     * @param obj2             Second object to compare (can be null)
+     * @param config           Configuration for the comparison
+     * @param executor         Executor running the comparison
+     * @param progressListener Listener of the progress of the comparison (can be null)
+     * @return Future completed with true if the objects are deeply equal, false otherwise
+     * (completed exceptionally by {@link ComparisonBudgetExceededException} when the budget is exceeded)
+     */
+    public static CompletableFuture<Boolean> areEqualAsync(Object obj1, Object obj2, EqualLibConfig config, Executor executor,
+                                                           LongConsumer progressListener) {
+        EqualLibConfig usedConfig = config == null ? DEFAULT_CONFIG : config;
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        executor.execute(() -> {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                // The monitor is created by the comparing thread (its time limit starts and its interrupts are checked)
+                ComparisonMonitor monitor = new ComparisonMonitor(usedConfig, future, progressListener);
+                future.complete(isEqual(compare(obj1, obj2, usedConfig, monitor)));
+            } catch (ComparisonMonitor.AbortedException e) {
+                // The future is already cancelled or completed
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+
+    /**
+     * Deep compare two objects (sequentially or in parallel, depending on the configuration)
+     *
+     * @param obj1    First object to compare (can be null)
+     * @param obj2    Second object to compare (can be null)
+     * @param config  Configuration for the comparison
+     * @param monitor Monitor of the comparison (null if it is not monitored)
+     * @return Result of the comparison
+     */
+    private static ComparisonResult compare(Object obj1, Object obj2, EqualLibConfig config, ComparisonMonitor monitor) {
+        if (obj1 == obj2) {
+            return ComparisonResult.EQUAL;
+        }
+
+        // Objects compared before are not traversed again (immutable objects or unchanged collections)
+        ResultCache cache = config.getResultCache();
+        ResultCache.Stamp stamp1 = null;
+        ResultCache.Stamp stamp2 = null;
+        if (cache != null && config.isCacheMutableCollections()) {
+            stamp1 = ResultCache.stampOf(obj1, config);
+            stamp2 = stamp1 == null ? null : ResultCache.stampOf(obj2, config);
+            if (stamp2 == null) {
+                stamp1 = null;
+            }
+        }
+        if (cache != null && (stamp1 != null || isCacheable(obj1, obj2, config))) {
+            Boolean cached = cache.get(obj1, obj2, stamp1, stamp2);
+            if (cached != null) {
+                return cached ? ComparisonResult.EQUAL : ComparisonResult.NOT_EQUAL;
+            }
+        } else {
+            cache = null;
+        }
+
+        boolean result;
+        try {
+            // The maximum depth is found only breadth first, so such comparison is never parallel
+            if (config.isParallelComparison() && config.getMaxComparisonDepth() == -1) {
+                result = ParallelComparison.compare(obj1, obj2, config, monitor);
+            } else {
+                // The queue and the visited pairs are reused between the comparisons of the thread
+                ComparisonContext context = ComparisonContext.acquire();
+                try {
+                    result = EqualLib.areEqual(obj1, obj2, 0, context.getVisited(), context.getQueue(), monitor, config);
+                } finally {
+                    context.release();
+                }
+            }
+        } catch (ComparisonMonitor.BudgetExceededException e) {
+            return ComparisonResult.BUDGET_EXCEEDED;
+        }
+
+        if (cache != null) {
+            cache.put(obj1, obj2, stamp1, stamp2, result);
+        }
+        return result ? ComparisonResult.EQUAL : ComparisonResult.NOT_EQUAL;
+    }
+
+    /**
+     * Check if the result of the comparison of the objects can be cached
+     *
+     * @param obj1   First object to compare
+     * @param obj2   Second object to compare
+     * @param config Configuration for the comparison
+     * @return true if both objects are of immutable classes, false otherwise
+     */
+    private static boolean isCacheable(Object obj1, Object obj2, EqualLibConfig config) {
+        return obj1 != null && obj2 != null
+                && config.isImmutable(obj1.getClass()) && config.isImmutable(obj2.getClass());
+    }
+
+
+    /**
+     * Deep compare the objects of every pair concurrently by the threads of the pool of the configuration
+     * (see {@link EqualLibConfig#setForkJoinPool(ForkJoinPool)})
+     *
+     * @param pairs  Pairs of objects to compare
+     * @param config Configuration for the comparisons (shared by all pairs)
+     * @return Bit set of the results, the bit at the index of the pair is set if its objects are deeply equal
+     */
+    public static BitSet areEqualAll(List<Pair> pairs, EqualLibConfig config) {
+        config = config == null ? DEFAULT_CONFIG : config;
+        return areEqualAll(pairs.iterator(), config, config.getForkJoinPool());
+    }
+
+    /**
+     * Deep compare the objects of every pair concurrently by the threads of the executor
+     * <p>
+     * The pairs are taken from the iterator in batches while the previous batches are compared,
+     * so the iterator can be lazy (e.g. reading the pairs from a stream).
+     * </p>
+     *
+     * @param pairs    Pairs of objects to compare
+     * @param config   Configuration for the comparisons (shared by all pairs)
+     * @param executor Executor running the comparisons
+     * @return Bit set of the results, the bit at the index of the pair is set if its objects are deeply equal
+     */
+    public static BitSet areEqualAll(Iterator<Pair> pairs, EqualLibConfig config, Executor executor) {
+        return BatchComparison.compareAll(pairs, config == null ? DEFAULT_CONFIG : config, executor, parallelismOf(executor));
+    }
+
+    /**
+     * Deep compare the objects of every pair concurrently until the first pair that is not equal
+     *
+     * @param pairs    Pairs of objects to compare
+     * @param config   Configuration for the comparisons (shared by all pairs)
+     * @param executor Executor running the comparisons
+     * @return True if the objects of all pairs are deeply equal, false as soon as any pair is not equal
+     */
+    public static boolean areAllEqual(Iterator<Pair> pairs, EqualLibConfig config, Executor executor) {
+        return BatchComparison.allEqual(pairs, config == null ? DEFAULT_CONFIG : config, executor, parallelismOf(executor));
+    }
+
+    /**
+     * Get the expected number of threads of the executor
+     *
+     * @param executor Executor
+     * @return Parallelism of a fork-join pool, number of processors for other executors
+     */
+    private static int parallelismOf(Executor executor) {
+        return executor instanceof ForkJoinPool pool ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+    }
+
+
+    /**
+     * Internal method that takes two objects and deep compares them to determine if they are equal
+     * First check if the objects are identical (reference check), the if one of them is null, return false
+     * <p>
+     * Then the BFS algorithm is used to compare the objects for
+     * <p>
+     * The pairs waiting for the comparison are stored in a {@link PairDeque} (parallel arrays),
+     * so enqueueing a pair does not allocate any object. Depending on the {@link TraversalStrategy},
+     * the next pair is taken from the start (breadth first) or from the end (depth first) of the queue.
+     * </p>
+     *
+     * @param first   First object to compare
+     * @param second  Second object to compare
+     * @param depth   Depth of the compared objects
+     * @param visited List of visited pairs (when null, new list is created)
+     * @param queue   Queue of objects to compare (when null, new queue is created)
+     * @param monitor Monitor of the comparison (null if it is not monitored)
+     * @return - True if the objects are deeply equal, false otherwise
+     */
+    private static boolean areEqual(Object first, Object second, int depth, VisitedPairs visited, PairDeque queue, ComparisonMonitor monitor, EqualLibConfig config) {
+
+
+        // Add the first pair to the queue
+        queue.addLast(first, second, depth);
+
+        // The newest pair is taken while the queue is bigger than the limit
+        int frontierLimit = frontierLimit(config);
+
+        // Number of compared pairs not reported to the monitor yet
+        int compared = 0;
+
+        // While the queue is not empty, compare the objects
+        while (queue.size() > frontierLimit ? queue.pollLast() : queue.pollFirst()) {
+
+            // Get the next pair from the queue
+            Object a = queue.first();
+            Object b = queue.second();
+            int pairDepth = queue.depth();
+
+            // If the pair is identical, continue (same reference)
+            if (a == b) {
+                continue;
+            }
+
+            // If one of the objects is null, return false
+            if (a == null || b == null) {
+                if (config.isDebugEnabled()){
+                    System.out.println(new Pair(a, b, pairDepth) + " -> [One of the objects is null]");
+                }
+                return false;
+            }
+
+
+            if (config.getMaxComparisonDepth() != -1 && pairDepth >= config.getMaxComparisonDepth()) {
+                if (config.isUseStandardEqualsAfterDepth()) {
+                    if (!a.equals(b)) {
+                        return false;
+                    }
+                }
+                continue;
+            }
+
+
+            // If the pair is already visited, continue
+            // (the pair is marked before comparing it, so cycles back to the pair are not compared again)
+            if (!visited.add(a, b)) {
+                continue;
+            }
+
+            // The monitor stops the comparison if it is cancelled or out of budget
+            if (monitor != null && ++compared == monitor.getCheckInterval()) {
+                monitor.pairsCompared(compared);
+                compared = 0;
+            }
+
+            // Compare all fields of the object
+            if (!compareObject(a, b, pairDepth, queue, visited, monitor, config)) {
+                return false;
+            }
+        }
+
+        // Nested comparisons are short, their pairs are reported at the end
+        if (monitor != null && compared > 0) {
+            monitor.pairsCompared(compared);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Get the size of the queue above which the newest pair is compared first (depth first)
+     *
+     * @param config Configuration for the comparison
+     * @return The size of the queue (0 for depth first, {@link Integer#MAX_VALUE} for breadth first)
+     */
+    static int frontierLimit(EqualLibConfig config) {
+        // The maximum depth is the length of the shortest path, it is found only breadth first
+        if (config.getMaxComparisonDepth() != -1) {
+            return Integer.MAX_VALUE;
+        }
+        return switch (config.getTraversalStrategy()) {
+            case DEPTH_FIRST -> 0;
+            case HYBRID -> config.getHybridFrontierLimit();
+            default -> Integer.MAX_VALUE;
+        };
+    }
+
+
+    /**
+     * Compare a pair in an independent nested comparison (used for matching set elements and map keys)
+     * <p>
+     * The nested comparison has its own queue and its own layer of visited pairs. It sees the pairs visited
+     * by the enclosing comparison, but its pairs are added to them only when the pair is equal.
+     * </p>
+     *
+     * @param first   First object to compare
+     * @param second  Second object to compare
+     * @param depth   Depth of the compared objects
+     * @param visited Visited pairs of the enclosing comparison
+     * @param monitor Monitor of the comparison (null if it is not monitored)
+     * @return true if the pair is deeply equal, false otherwise
+     */
+    private static boolean areEqualNested(Object first, Object second, int depth, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+        VisitedPairs layer = new VisitedPairs(visited);
+        if (!areEqual(first, second, depth, layer, new PairDeque(), monitor, config)) {
+            return false;
+        }
+        layer.commit();
+        return true;
+    }
+
+
+    /**
+     * Internal method to decide how to compare the objects
+     * <p>
+     * When deepEquals accept primitive type, JVM will autobox it to wrapper type.
+     * For Primitive, Wrapper and String, we can use equals method.
+     * For Array, List expanding the Object tree and compare each element.
+     * For Map, Set, using recursion to compare each element.
+     * For Object, compare each field.
+     * </p>
+     *
+     * @param first   First object to compare
+     * @param second  Second object to compare
+     * @param depth   Depth of the compared objects
+     * @param visited List of visited pairs (when null, new list is created)
+     * @param monitor Monitor of the comparison (null if it is not monitored)
+     * @param queue   Queue of objects to compare (when null, new queue is created)
+     * @return - True if the objects are deeply equal, false otherwis
+     */
+    static boolean compareObject(Object first, Object second, int depth, PairDeque queue, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+
+        // Wrappers and String are compared by equals also when comparing inherited fields (the same as in fields),
+        // not as their common superclass (Number has no fields, so all numbers would be equal)
+        if (config.isCompareInheritedFields() && (isWrapperOrString(first.getClass()) || isWrapperOrString(second.getClass()))) {
+            boolean result = compareWrapperOrString(first, second);
+            if (config.isDebugEnabled()) System.out.println(new Pair(first, second, depth) + " -> [Result: " + result + "]");
+            return result;
+        }
+
+        // Type check
+        Class<?> type = Pair.getCommonType(first, second, config.isCompareInheritedFields());
+
+        // There is no class to compare not found
+        if (type == null) {
+
+
+            // If it is not the anonymous class, return false
+            type = Pair.getAnonymousClassType(first, second);
+
+            // If it is not the anonymous class, return false
+            if (type == null) {
+
+                if (config.isDebugEnabled()) {
+                    if (config.isCompareInheritedFields())
+                        System.out.println(new Pair(first, second, depth) + " -> [No common superclass found]");
+
+                    else
+                        System.out.println(new Pair(first, second, depth) + " -> [No class found for pair]");
+                }
+
+                return false;
+            }
+
+        }
+
+
+        // Anonymous classes of a different type are matched field by field using the field names
+        if (type.isAnonymousClass() && first.getClass() != second.getClass()) {
+            boolean result = compareAnonymousFields(first, second, depth, queue, config, type);
+            if (config.isDebugEnabled()) System.out.println(new Pair(first, second, depth) + " -> [Result: " + result + "]");
+            return result;
+        }
+
+
+        // Get the precompiled plan for the type
+        ComparisonPlan plan = getPlan(type, config);
+
+        boolean result;
+
+        // Decide what to do based on the plan
+        switch (plan.getStrategy()) {
+            case CUSTOM_EQUALS -> {
+                if (!first.equals(second)) {
+                    if (config.isDebugEnabled()) System.out.println(new Pair(first, second, depth) + " -> [Custom equals method returned false]");
+                    return false;
+                }
+                return true;
+            }
+            // Wrappers and String have equals method implemented
+            case VALUE -> result = compareWrapperOrString(first, second);
+
+            // Arrays => Compare arrays index by index
+            case ARRAY -> {
+                if (monitor != null) monitor.fieldsRead(Array.getLength(first));
+                result = compareArray(first, second, depth, queue);
+            }
+
+            // Collections => Compare collections element by element
+            case COLLECTION -> result = compareCollectionOrMap(first, second, depth, queue, visited, monitor, config);
+
+            // If the objects are not collections or maps, compare the fields of the objects
+            default -> {
+                if (monitor != null) monitor.fieldsRead(plan.getFieldCount());
+                result = compareFields(first, second, depth, queue, config, plan);
+            }
+        }
+
+        if (config.isDebugEnabled()) System.out.println(new Pair(first, second, depth) + " -> [Result: " + result + "]");
+        return result;
+
+    }
+
+
+    /**
+     * If algorithm determines that the objects are objects, it compares the fields of the objects
+     * by executing the precompiled plan of their class
+     *
+     * @param first  First object to compare
+     * @param second Second object to compare
+     * @param depth  Depth of the compared objects
+     * @param queue  Queue of objects to compare for Algorithm
+     * @param plan   Plan of the compared class
+     * @return true if the fields are equal, false otherwise
+     */
+    private static boolean compareFields(Object first, Object second, int depth, PairDeque queue, EqualLibConfig config, ComparisonPlan plan) {
+
+        // Classes with a comparator generated at compile time are compared without reflection
+        DeepComparator<Object> generated = plan.getGeneratedComparator();
+        if (generated != null) {
+            boolean result = generated.compare(first, second, (valueA, valueB) -> queue.addLast(valueA, valueB, depth + 1));
+            if (config.isDebugEnabled())
+                System.out.println(new Pair(first, second, depth) + " -> [Compared by " + generated.getClass().getName() + ": " + result + "]");
+            return result;
+        }
+
+        ComparisonPlan.FieldSlot[] slots = plan.getSlots();
+
+        // Hot classes have a generated comparator for primitive and value fields, only references are left here
+        CompiledComparator compiled = config.isDebugEnabled() || config.isPrecomputedMetadataOnly()
+                ? null : plan.getCompiledComparator(config.getCompilationThreshold());
+        if (compiled != null) {
+            if (compiled.diff(first, second) != 0) {
+                return false;
+            }
+            slots = plan.getReferenceSlots();
+        }
+
+        for (ComparisonPlan.FieldSlot slot : slots) {
+            FieldAccessor accessor = slot.accessor();
+
+            // Primitives are compared without boxing
+            if (slot.kind() == ComparisonPlan.SlotKind.PRIMITIVE) {
+
+                if (!accessor.primitiveEquals(first, second)) {
+                    if (config.isDebugEnabled())
+                        System.out.println(new Pair(first, second, depth) + " -> [Field " + slot.name() + " is not equal: " + accessor.get(first) + " " + accessor.get(second) + "]");
+                    return false;
+                }
+
+                if (config.isDebugEnabled())
+                    System.out.println(new Pair(first, second, depth) + " -> [Field " + slot.name() + " is equal: " + accessor.get(first) + " " + accessor.get(second) + "]");
+                continue;
+            }
+
+            // Get the values of the fields
+            Object valueA = accessor.get(first);
+            Object valueB = accessor.get(second);
+
+            if (valueA == valueB) {
+                continue;
+            }
+
+            if (valueA == null || valueB == null) {
+                if (config.isDebugEnabled())
+                    System.out.println(new Pair(first, second, depth) + " -> [Field " + slot.name() + " is null]");
+                return false;
+            }
+
+            // Shallow fields are equal only if they reference the same object
+            if (slot.kind() == ComparisonPlan.SlotKind.IDENTITY) {
+                if (config.isDebugEnabled())
+                    System.out.println(new Pair(first, second, depth) + " -> [Field " + slot.name() + " is not the same object]");
+                return false;
+            }
+
+            // Values are compared by equals, references only when the runtime value is a wrapper or String
+            if (slot.kind() == ComparisonPlan.SlotKind.VALUE || isWrapperOrString(valueA.getClass())) {
+
+                if (!valueA.equals(valueB)) {
+                    if (config.isDebugEnabled())
+                        System.out.println(new Pair(first, second, depth) + " -> [Field " + slot.name() + " is not equal: " + valueA + " " + valueB + "]");
+                    return false;
+                }
+
+                if (config.isDebugEnabled())
+                    System.out.println(new Pair(first, second, depth) + " -> [Field " + slot.name() + " is equal: " + valueA + " " + valueB + "]");
+
+            } else {
+                queue.addLast(valueA, valueB, depth + 1);
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Compares the fields of two instances of different anonymous classes.
+     * The fields are matched by their names (without the compiler generated $number suffix).
+     *
+     * @param first  First object to compare
+     * @param second Second object to compare
+     * @param depth  Depth of the compared objects
+     * @param queue  Queue of objects to compare for Algorithm
+     * @return true if the fields are equal, false otherwise
+     */
+    private static boolean compareAnonymousFields(Object first, Object second, int depth, PairDeque queue, EqualLibConfig config, Class<?> type) {
+
+        // Get the fields of the objects
+        Field[] fieldsA = getFields(first.getClass(), config);
+        Field[] fieldsB = getFields(second.getClass(), config);
+
+
+        // Check if the number of fields is equal
+        if (fieldsA.length != fieldsB.length) {
+            if (config.isDebugEnabled()) System.out.println(new Pair(first, second, depth) + " -> [Number of fields is not equal]");
+            return false;
+        }
+
+        // Compare each field
+        for (Field fieldA : fieldsA) {
+
+            // Find the matching field in the second object
+            Field fieldB = findMatching(fieldA, fieldsB, true);
+
+            // If no matching field is found, the objects are not equal
+            if (fieldB == null) {
+                if (config.isDebugEnabled()) System.out.println(new Pair(first, second, depth) + " -> [Field not found: " + fieldA.getName() + "]");
+                return false;
+            }
+
+            if (fieldA.isAnnotationPresent(EqualIgnore.class)
+                    || (!config.getIgnoredFieldPaths().isEmpty() && isIgnoredField(type, fieldA, config))) {
+                continue;
+            }
+
+            try {
+                // Get the values of the fields
+                Object valueA = fieldA.get(first);
+                Object valueB = fieldB.get(second);
+
+                if (valueA == valueB) {
+                    continue;
+                }
+
+
+                if (valueA == null || valueB == null) {
+                    if (config.isDebugEnabled())
+                        System.out.println(new Pair(first, second, depth) + " -> [Field " + fieldA.getName() + " is null]");
+                    return false;
+                }
+
+
+                if (valueA.getClass().isPrimitive() || isWrapperOrString(valueA.getClass())) {
+
+                    if (!compareWrapperOrString(valueA, valueB)) {
+                        if (config.isDebugEnabled())
+                            System.out.println(new Pair(first, second, depth) + " -> [Field " + fieldA.getName() + " is not equal: " + valueA + " " + valueB + "]");
+                        return false;
+                    }
+
+                    if (config.isDebugEnabled())
+                        System.out.println(new Pair(first, second, depth) + " -> [Field " + fieldA.getName() + " is equal: " + valueA + " " + valueB + "]");
+
+                } else {
+                    queue.addLast(valueA, valueB, depth + 1);
+                }
+
+
+            } catch (IllegalAccessException e) {
+                System.out.println("Error while accessing field: " + fieldA.getName());
+                return false;
+
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Get the comparison plan of the class for the configuration
+     * If the plan is not compiled yet, it is compiled and cached
+     *
+     * @param type   Class to get the plan for
+     * @param config Configuration for the comparison
+     * @return The comparison plan of the class
+     */
+    static ComparisonPlan getPlan(Class<?> type, EqualLibConfig config) {
+        Map<Class<?>, ComparisonPlan> plans = config.getPlans();
+        ComparisonPlan plan = plans.get(type);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(type, c -> compilePlan(c, config));
+        }
+        return plan;
+    }
+
+
+    /**
+     * Compile the comparison plan of the class
+     * <p>
+     * The decision how the objects are compared is done only once here.
+     * Static fields are skipped (they are the same for both objects) and so are the ignored fields.
+     * </p>
+     *
+     * @param type   Class to compile the plan for
+     * @param config Configuration for the comparison
+     * @return The comparison plan of the class
+     */
+    private static ComparisonPlan compilePlan(Class<?> type, EqualLibConfig config) {
+
+        if (type.isAnnotationPresent(EqualUseEquals.class) || useCustomEquals(type, config)) {
+            return new ComparisonPlan(type, ComparisonPlan.Strategy.CUSTOM_EQUALS, new ComparisonPlan.FieldSlot[0]);
+        }
+
+        if (type.isPrimitive() || isWrapperOrString(type)) {
+            return new ComparisonPlan(type, ComparisonPlan.Strategy.VALUE, new ComparisonPlan.FieldSlot[0]);
+        }
+
+        if (type.isArray()) {
+            return new ComparisonPlan(type, ComparisonPlan.Strategy.ARRAY, new ComparisonPlan.FieldSlot[0]);
+        }
+
+        if (isCollectionOrMap(type) && config.isCompareCollectionsByElements()) {
+            return new ComparisonPlan(type, ComparisonPlan.Strategy.COLLECTION, new ComparisonPlan.FieldSlot[0]);
+        }
+
+        // The comparator generated at compile time knows only the annotations, not the ignored paths of the configuration.
+        // The class is then compared without its fields, so they are not resolved by reflection (its package can be closed)
+        DeepComparator<Object> generated = hasIgnoredFields(type, config) ? null : GeneratedComparators.find(type);
+        if (generated != null) {
+            return new ComparisonPlan(type, ComparisonPlan.Strategy.FIELDS, new ComparisonPlan.FieldSlot[0], generated, countInstanceFields(type));
+        }
+
+        List<ComparisonPlan.FieldSlot> slots = new ArrayList<>();
+        int fieldCount = 0;
+        for (Field field : getFields(type, config)) {
+
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            fieldCount++;
+
+            if (field.isAnnotationPresent(EqualIgnore.class)
+                    || (!config.getIgnoredFieldPaths().isEmpty() && isIgnoredField(type, field, config))) {
+                continue;
+            }
+
+            ComparisonPlan.SlotKind kind;
+            if (field.getType().isPrimitive()) {
+                kind = ComparisonPlan.SlotKind.PRIMITIVE;
+            } else if (field.isAnnotationPresent(EqualShallow.class)) {
+                kind = ComparisonPlan.SlotKind.IDENTITY;
+            } else if (isWrapperOrString(field.getType()) || field.isAnnotationPresent(EqualUseEquals.class)) {
+                kind = ComparisonPlan.SlotKind.VALUE;
+            } else {
+                kind = ComparisonPlan.SlotKind.REFERENCE;
+            }
+            slots.add(new ComparisonPlan.FieldSlot(new FieldAccessor(field), kind));
+        }
+
+        return new ComparisonPlan(type, ComparisonPlan.Strategy.FIELDS, slots.toArray(new ComparisonPlan.FieldSlot[0]), null, fieldCount);
+    }
+
+    /**
+     * Count the instance fields of the class and its superclasses (without making them accessible)
+     *
+     * @param type Class of the object
+     * @return Number of the instance fields
+     */
+    private static int countInstanceFields(Class<?> type) {
+        int count = 0;
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check if any field of the class is in the ignored fields
+     *
+     * @param clazz  Class of the object
+     * @param config Configuration for the comparison
+     * @return true if the configuration ignores a field of the class, false otherwise
+     */
+    private static boolean hasIgnoredFields(Class<?> clazz, EqualLibConfig config) {
+        String prefix = clazz.getName() + ".";
+        for (String path : config.getIgnoredFieldPaths()) {
+            if (path.startsWith(prefix) && path.indexOf('.', prefix.length()) == -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Check if the field is in the ignored fields
+     *
+     * @param clazz  Class of the object
+     * @param field  Field to check
+     * @param config Configuration for the comparison
+     * @return true if the field is ignored, false otherwise
+     */
+    private static boolean isIgnoredField(Class<?> clazz, Field field, EqualLibConfig config) {
+        String fieldName = field.getName();
+        String fullFieldName = clazz.getName() + "." + fieldName;
+        return config.getIgnoredFieldPaths().contains(fullFieldName);
+    }
+
+    /**
+     * Check if the class or package is in useCustomEquals
+     *
+     * @param clazz  Class to check
+     * @param config Configuration for the comparison
+     * @return true if the class is in useCustomEquals, false otherwise
+     */
+    private static boolean useCustomEquals(Class<?> clazz, EqualLibConfig config) {
+        return isListed(clazz, config.getCustomEqualsClasses());
+    }
+
+    /**
+     * Check if the class or any of its packages is in the set of names
+     *
+     * @param clazz Class to check
+     * @param names Fully qualified class or package names
+     * @return true if the class or its package is in the set, false otherwise
+     */
+    static boolean isListed(Class<?> clazz, Set<String> names) {
+        // Get the class name (with package)
+        String className = clazz.getName();
+
+        // Split the class name by the dot (.) and loop through the parts and check if the class or package is in the set
+        String path = "";
+        for (String part : className.split("\\.")) {
+            path += part;
+            if (names.contains(path)) {
+                return true;
+            }
+            path += ".";
+        }
+        return false;
+    }
+
+    /**
+     * Compare two arrays index by index (expanding the object tree)
+     * <p>
+     * Arrays of primitives are compared in bulk by {@link Arrays#equals} (vectorized by the JDK),
+     * arrays of wrappers and String are compared by equals in place.
+     * Only the elements of other arrays are enqueued (the depth is increased by 1, same as for lists).
+     * </p>
+     *
+     * @param a     First array
+     * @param b     Second array
+     * @param depth Depth of the compared arrays
+     * @param queue Queue of objects to compare for Algorithm
+     * @return true if the arrays are equal, false otherwise
+     */
+    private static boolean compareArray(Object a, Object b, int depth, PairDeque queue) {
+
+        Class<?> componentType = a.getClass().getComponentType();
+
+        // Primitive arrays are compared at once
+        if (componentType.isPrimitive()) {
+            return comparePrimitiveArray(a, b);
+        }
+
+        Object[] arrayA = (Object[]) a;
+        Object[] arrayB = (Object[]) b;
+
+        // Check if the arrays have the same length
+        if (arrayA.length != arrayB.length) {
+            return false;
+        }
+
+        // Arrays of wrappers and String are compared without expanding the tree
+        if (isWrapperOrString(componentType)) {
+            return Arrays.equals(arrayA, arrayB);
+        }
+
+        // Compare each element of the array (the depth is increased by 1)
+        return compareArrayElements(arrayA, arrayB, 0, arrayA.length, depth + 1, queue);
+    }
+
+    /**
+     * Compare the elements of two arrays in the index range.
+     * Wrappers and String are compared by equals in place, other elements are enqueued.
+     *
+     * @param arrayA       First array
+     * @param arrayB       Second array
+     * @param from         First compared index (inclusive)
+     * @param to           Last compared index (exclusive)
+     * @param elementDepth Depth of the elements
+     * @param queue        Queue of objects to compare for Algorithm
+     * @return false if the elements compared in place are not equal, true otherwise
+     */
+    static boolean compareArrayElements(Object[] arrayA, Object[] arrayB, int from, int to, int elementDepth, PairDeque queue) {
+        for (int i = from; i < to; i++) {
+            Object elementA = arrayA[i];
+            Object elementB = arrayB[i];
+
+            if (elementA == elementB) {
+                continue;
+            }
+
+            if (elementA == null || elementB == null) {
+                return false;
+            }
+
+            if (isWrapperOrString(elementA.getClass())) {
+                if (!elementA.equals(elementB)) {
+                    return false;
+                }
+                continue;
+            }
+
+            queue.addLast(elementA, elementB, elementDepth);
+        }
+
+        return true;
+    }
+
+    /**
+     * Compare two arrays of the same primitive type.
+     * Floating point values are compared in the same way as {@link Double#equals(Object)} does.
+     *
+     * @param a First array
+     * @param b Second array
+     * @return true if the arrays are equal, false otherwise
+     */
+    private static boolean comparePrimitiveArray(Object a, Object b) {
+        if (a instanceof int[] arrayA) return Arrays.equals(arrayA, (int[]) b);
+        if (a instanceof long[] arrayA) return Arrays.equals(arrayA, (long[]) b);
+        if (a instanceof double[] arrayA) return Arrays.equals(arrayA, (double[]) b);
+        if (a instanceof byte[] arrayA) return Arrays.equals(arrayA, (byte[]) b);
+        if (a instanceof char[] arrayA) return Arrays.equals(arrayA, (char[]) b);
+        if (a instanceof float[] arrayA) return Arrays.equals(arrayA, (float[]) b);
+        if (a instanceof short[] arrayA) return Arrays.equals(arrayA, (short[]) b);
+        return Arrays.equals((boolean[]) a, (boolean[]) b);
+    }
+
+    /**
+     * Find a matching field in the second object
+     *
+     * @param fieldA         Field from the first object
+     * @param fieldsB        Fields from the second object
+     * @param anonymousClass If the class is anonymous field, the last $number is removed from the name
+     * @return The matching field or null if no matching field is found
+     */
+    private static Field findMatching(Field fieldA, Field[] fieldsB, boolean anonymousClass) {
+        for (Field fieldB : fieldsB) {
+
+            if (anonymousClass) {
+                // Remove the last $number from the name
+                String nameA = fieldA.getName().replaceAll("\\$[0-9]+", "");
+                String nameB = fieldB.getName().replaceAll("\\$[0-9]+", "");
+                if (nameA.equals(nameB)) {
+                    return fieldB;
+                }
+            }
+
+            if (fieldA.equals(fieldB)) {
+                return fieldB;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * This method decides if the field is a wrapper type (Integer, Double, Long, Float, Character, Short, Byte, Boolean) or String
+     * These types are considered wrapper types because they are used to wrap the primitive types and can be compared using the equals method
+     *
+     * @param type - the field to check
+     * @return - true if the field is a wrapper type, false otherwise
+     */
+    static boolean isWrapperOrString(Class<?> type) {
+        return type.equals(Integer.class) ||
+                type.equals(Double.class) ||
+                type.equals(Long.class) ||
+                type.equals(Float.class) ||
+                type.equals(Character.class) ||
+                type.equals(Short.class) ||
+                type.equals(Byte.class) ||
+                type.equals(Boolean.class) ||
+                type.equals(String.class);
+    }
+
+    /**
+     * This calls the method equals on the object
+     *
+     * @param objA First object
+     * @param objB Second object
+     * @return - true if the objects are equal, false otherwise
+     */
+    private static boolean compareWrapperOrString(Object objA, Object objB) {
+        return objA.equals(objB);
+    }
+
+
+    /**-------------------------------------------------**/
+    /** -------------- COLLECTIONS & MAPS ------------- **/
+    /**-------------------------------------------------**/
+
+
+    /**
+     * Check if the class is a collection or map
+     *
+     * @param type Class to check
+     * @return true if the class is a collection, false otherwise
+     */
+    private static boolean isCollectionOrMap(Class<?> type) {
+        return Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Compare two collections of any type.
+     *
+     * @param obj1    First collection
+     * @param obj2    Second collection
+     * @param depth   Depth of the compared collections
+     * @param queue   Queue of objects to compare for Algorithm
+     * @param visited List of visited pairs
+     * @param monitor Monitor of the comparison (null if it is not monitored)
+     * @return true if the collections are equal, false otherwise
+     */
+    private static boolean compareCollectionOrMap(Object obj1, Object obj2, int depth, PairDeque queue, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+
+        // Check if the collections are null
+        if (obj1 == null || obj2 == null) {
+            return obj1 == obj2;
+        }
+
+        // Check if the collections are the same instance
+        if (!obj1.getClass().equals(obj2.getClass())) {
+            return false;
+        }
+        if (obj1 instanceof List && obj2 instanceof List) {
+            return compareList((List<?>) obj1, (List<?>) obj2, depth, queue);
+
+            // Check if the collections is set
+        } else if (obj1 instanceof Set && obj2 instanceof Set) {
+            return compareSets((Set<?>) obj1, (Set<?>) obj2, depth, visited, monitor, config);
+
+        } else if (obj1 instanceof Map && obj2 instanceof Map) {
+            return compareMaps((Map<?, ?>) obj1, (Map<?, ?>) obj2, depth, queue, visited, monitor, config);
+
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Compare two lists index by index (expanding the object tree)
+     *
+     * @param listA First list
+     * @param listB Second list
+     * @param depth Depth of the compared lists
+     * @param queue Queue of objects to compare for Algorithm
+     * @return true if the lists are equal, false otherwise
+     */
+    private static boolean compareList(List<?> listA, List<?> listB, int depth, PairDeque queue) {
+
+        // Check if the lists have the same size
+        if (listA.size() != listB.size()) {
+            return false;
+        }
+
+        // Compare each element of the list (the depth is increased by 1)
+        compareListElements(listA, listB, 0, listA.size(), depth + 1, queue);
+        return true;
+    }
+
+    /**
+     * Enqueue the elements of two lists in the index range.
+     *
+     * @param listA        First list
+     * @param listB        Second list
+     * @param from         First compared index (inclusive)
+     * @param to           Last compared index (exclusive)
+     * @param elementDepth Depth of the elements
+     * @param queue        Queue of objects to compare for Algorithm
+     */
+    static void compareListElements(List<?> listA, List<?> listB, int from, int to, int elementDepth, PairDeque queue) {
+        for (int i = from; i < to; i++) {
+            queue.addLast(listA.get(i), listB.get(i), elementDepth);
+        }
+    }
+
+
+    /**
+     * Compare two sets element by element
+     * <p>
+     * The elements of the second set are split into buckets by their structural hash (consistent with the deep equality),
+     * so every element of the first set is deeply compared only with the elements of the same bucket.
+     * </p>
+     *
+     * @param set1     First set
+     * @param set2     Second set
+     * @param setDepth Depth of the compared sets
+     * @param visited  List of visited pairs
+     * @param monitor  Monitor of the comparison (null if it is not monitored)
+     * @return true if the sets are equal, false otherwise
+     * @hidden
+     */
+    private static boolean compareSets(Set<?> set1, Set<?> set2, int setDepth, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+
+        // Check if the sets have the same size
+        if (set1.size() != set2.size()) {
+            return false;
+        }
+
+        // The depth is increased by 1
+        return matchElements(set1, set2, setDepth + 1, visited, monitor, config);
+    }
+
+
+    /**
+     * Find a deeply equal element of the second collection for every element of the first collection
+     * (both collections have the same size)
+     *
+     * @param elements1 Elements of the first set
+     * @param elements2 Elements of the second set
+     * @param depth     Depth of the elements
+     * @param visited   List of visited pairs
+     * @param monitor   Monitor of the comparison (null if it is not monitored)
+     * @return true if all elements are matched, false otherwise
+     */
+    static boolean matchElements(Collection<?> elements1, Collection<?> elements2, int depth, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+
+        // Split the unmatched elements of the second set into buckets by the structural hash
+        Map<Integer, List<Object>> unmatched = new HashMap<>();
+        for (Object elem2 : elements2) {
+            unmatched.computeIfAbsent(StructuralHasher.hash(elem2, depth, config), k -> new ArrayList<>(1)).add(elem2);
+        }
+
+        // Compare each element of the first set
+        for (Object elem1 : elements1) {
+
+            // Only the elements with the same hash can be equal
+            List<Object> bucket = unmatched.get(StructuralHasher.hash(elem1, depth, config));
+            if (bucket == null || findAndRemoveMatching(elem1, bucket, depth, visited, monitor, config) == NO_MATCH) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Find the element deeply equal to the given one in the bucket and remove it from the bucket
+     *
+     * @param element Element to find
+     * @param bucket  Candidates for the element
+     * @param depth   Depth of the compared elements
+     * @param visited List of visited pairs
+     * @param monitor Monitor of the comparison (null if it is not monitored)
+     * @return The matching element (removed from the bucket) or {@link #NO_MATCH} if there is none
+     */
+    private static Object findAndRemoveMatching(Object element, List<Object> bucket, int depth, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+        for (int i = 0; i < bucket.size(); i++) {
+            Object candidate = bucket.get(i);
+            if (areEqualNested(element, candidate, depth, visited, monitor, config)) {
+
+                // Remove the matched element (the last element is moved to its place)
+                int last = bucket.size() - 1;
+                bucket.set(i, bucket.get(last));
+                bucket.remove(last);
+                return candidate;
+            }
+        }
+        return NO_MATCH;
+    }
+
+
+    /**
+     * Compare two maps key by key
+     * <p>
+     * Keys compared by equals (wrappers, String and enums) are looked up directly in the second map.
+     * Other keys are matched by the structural hash: an index of the remaining keys of the second map is built
+     * and every key is deeply compared only with the keys of the same bucket.
+     * The values of the matched keys are enqueued (the depth is increased by 1).
+     * </p>
+     *
+     * @param mapA     First map
+     * @param mapB     Second map
+     * @param mapDepth Depth of the compared maps
+     * @param queue    Queue of objects to compare for Algorithm
+     * @param visited  List of visited pairs
+     * @param monitor  Monitor of the comparison (null if it is not monitored)
+     * @return true if the maps are equal, false otherwise
+     * @hidden
+     */
+    private static boolean compareMaps(Map<?, ?> mapA, Map<?, ?> mapB, int mapDepth, PairDeque queue, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+
+        // Check if the maps have the same size
+        if (mapA.size() != mapB.size()) {
+            return false;
+        }
+
+        // The depth is increased by 1
+        return matchEntries(mapA.entrySet(), mapB, mapB.keySet(), mapDepth + 1, queue, visited, monitor, config);
+    }
+
+
+    /**
+     * Find the matching key of the second map for every entry of the first map and enqueue the values of the matched keys
+     *
+     * @param entriesA Entries of the first map
+     * @param mapB     Second map
+     * @param keysB    Keys of the second map that can match the entries (the same number as the entries)
+     * @param depth    Depth of the keys and values
+     * @param queue    Queue of objects to compare for Algorithm
+     * @param visited  List of visited pairs
+     * @param monitor  Monitor of the comparison (null if it is not monitored)
+     * @return true if all keys are matched, false otherwise
+     */
+    static boolean matchEntries(Collection<? extends Map.Entry<?, ?>> entriesA, Map<?, ?> mapB, Collection<?> keysB, int depth,
+                                PairDeque queue, VisitedPairs visited, ComparisonMonitor monitor, EqualLibConfig config) {
+
+        boolean directLookup = supportsDirectLookup(mapB);
+
+        // Index of the keys of the second map that cannot be looked up directly (built on first use)
+        Map<Integer, List<Object>> unmatched = null;
+
+        // Compare each key-value pair
+        for (Map.Entry<?, ?> entryA : entriesA) {
+
+            // Get the key and value of the first map
+            Object keyA = entryA.getKey();
+            Object valueA = entryA.getValue();
+
+            // Keys compared by equals are found by the map itself
+            if (directLookup && isDirectKey(keyA, config)) {
+                Object valueB = mapB.get(keyA);
+                if (valueB == null && !mapB.containsKey(keyA)) {
+                    return false;
+                }
+                queue.addLast(valueA, valueB, depth);
+                continue;
+            }
+
+            if (unmatched == null) {
+                unmatched = new HashMap<>();
+                for (Object keyB : keysB) {
+                    if (!directLookup || !isDirectKey(keyB, config)) {
+                        unmatched.computeIfAbsent(StructuralHasher.hash(keyB, depth, config), k -> new ArrayList<>(1)).add(keyB);
+                    }
+                }
+            }
+
+            // Find the matching key of the second map
+            List<Object> bucket = unmatched.get(StructuralHasher.hash(keyA, depth, config));
+            Object keyB = bucket == null ? NO_MATCH : findAndRemoveMatching(keyA, bucket, depth, visited, monitor, config);
+            if (keyB == NO_MATCH) {
+                return false;
+            }
+
+            // If the keys are equal, compare the values
+            queue.addLast(valueA, mapB.get(keyB), depth);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Check if the keys of the map can be looked up by {@link Map#get(Object)}
+     * (the map does not use identity or a custom comparator instead of equals)
+     *
+     * @param map Map to check
+     * @return true if the map looks up keys by equals, false otherwise
+     */
+    private static boolean supportsDirectLookup(Map<?, ?> map) {
+        if (map instanceof IdentityHashMap<?, ?>) {
+            return false;
+        }
+        return !(map instanceof SortedMap<?, ?> sortedMap) || sortedMap.comparator() == null;
+    }
+
+
+    /**
+     * Check if the key is compared by equals, so it can be looked up in the map directly
+     *
+     * @param key    Key to check (can be null)
+     * @param config Configuration for the comparison
+     * @return true if the key is compared by equals, false otherwise
+     */
+    private static boolean isDirectKey(Object key, EqualLibConfig config) {
+        if (key == null || isWrapperOrString(key.getClass())) {
+            return true;
+        }
+
+        // Enums are compared as Enum when comparing inherited fields
+        // (constants of two enums with the same name and ordinal are equal)
+        if (config.isCompareInheritedFields()) {
+            return false;
+        }
+        if (key instanceof Enum<?>) {
+            return true;
+        }
+
+        // Keys with a custom equals are matched by equals only, their hash code does not have to be consistent with it
+        return getPlan(key.getClass(), config).getStrategy() == ComparisonPlan.Strategy.VALUE;
+    }
+
+
+    /**
+     * Get all fields from a class (including private fields)
+     *
+     * @param clazz       - the class to get the fields from
+     * @param finalParent - the final parent class where the fields should be taken from (included)
+     */
+    private static Field[] getFields(Class<?> clazz, Class<?> finalParent) {
+
+        List<Field> fields = new ArrayList<>();
+
+        // If the final parent is null, set it to Object.class (the highest parent)
+        if (finalParent == null) {
+            finalParent = Object.class;
+        }
+
+        // Get all fields from the class and its superclasses
+        while (clazz != null) {
+            fields.addAll(Arrays.asList(clazz.getDeclaredFields()));
+            clazz = clazz.getSuperclass();
+
+            // If the class is the final parent, break the loop (Superclass of Object.class is null)
+            if (clazz == null || clazz.equals(finalParent)) {
+                break;
+            }
+        }
+
+        // Set the fields to accessible
+        Field[] fieldArray = fields.toArray(new Field[0]);
+        AccessibleObject.setAccessible(fieldArray, true);
+        return fieldArray;
+    }
+
+
+    /**
+     * Get all fields from a class (including private fields)
+     *
+     * @param clazz  - the class to get the fields from
+     * @param config - configuration for the comparison (decides if only the precomputed fields can be used)
+     */
+    private static Field[] getFields(Class<?> clazz, EqualLibConfig config) {
+        if (config.isPrecomputedMetadataOnly()) {
+            Field[] fields = FIELD_CACHE.get(clazz);
+            if (fields == null) {
+                throw new IllegalStateException("No precomputed metadata for " + clazz.getName()
+                        + " (load it by EqualLib.loadMetadata or add the class to the warmed up roots)");
+            }
+            return fields;
+        }
+        return getCachedFields(clazz);
+
+    }
+
+
+    /**
+     * Get cached fields of a class
+     * If the fields are not cached, get the fields and cache them
+     * <p>
+     * The fields are cached to improve the performance of the deepEquals method
+     * The fields are cached in a ConcurrentHashMap
+     * The key is the class and the value is the array of fields
+     */
+    static Field[] getCachedFields(Class<?> clazz) {
+        return FIELD_CACHE.computeIfAbsent(clazz, c -> getFields(c, (Class<?>) null));
+    }
+
+    /**
+     * Resolve the metadata of the classes ahead of the first comparison with the default configuration
+     *
+     * @param roots Classes to start from
+     * @return Number of classes whose metadata was resolved
+     * @see #warmUp(EqualLibConfig, Class[])
+     */
+    public static int warmUp(Class<?>... roots) {
+        return warmUp(DEFAULT_CONFIG, roots);
+    }
+
+    /**
+     * Resolve the metadata of the classes ahead of the first comparison
+     * <p>
+     * The fields (made accessible) and the comparison plans of the classes and of all classes reachable by their fields
+     * are built, so the first comparisons do not pay for the reflection. The declared field types are followed,
+     * including their type arguments, classes that appear only as runtime values of interface-typed fields
+     * have to be passed as roots too. The plans are built for the configuration (and the configurations sharing its plans).
+     * </p>
+     *
+     * @param config Configuration for the comparison
+     * @param roots  Classes to start from
+     * @return Number of classes whose metadata was resolved
+     */
+    public static int warmUp(EqualLibConfig config, Class<?>... roots) {
+        return ClassMetadata.warmUp(config == null ? DEFAULT_CONFIG : config, roots).size();
+    }
+
+    /**
+     * Save the fields of all classes resolved so far to the file
+     * <p>
+     * The file is meant to be written once per build (e.g. after {@link #warmUp(EqualLibConfig, Class[])})
+     * and loaded by {@link #loadMetadata(Path, EqualLibConfig)} at the next start.
+     * </p>
+     *
+     * @param file The metadata file (replaced if it exists)
+     * @throws IOException If the file cannot be written
+     */
+    public static void saveMetadata(Path file) throws IOException {
+        ClassMetadata.save(file, new LinkedHashMap<>(FIELD_CACHE));
+    }
+
+    /**
+     * Save the fields of the classes reachable from the roots to the file
+     * <p>
+     * The classes are resolved as by {@link #warmUp(EqualLibConfig, Class[])}, only the classes compared by reflection
+     * are saved (the file does not depend on the classes resolved so far).
+     * </p>
+     *
+     * @param file   The metadata file (replaced if it exists)
+     * @param config Configuration for the comparison
+     * @param roots  Classes to start from
+     * @return Number of saved classes
+     * @throws IOException If the file cannot be written
+     * @throws java.lang.reflect.InaccessibleObjectException If the package of a class compared by reflection is not open
+     */
+    public static int saveMetadata(Path file, EqualLibConfig config, Class<?>... roots) throws IOException {
+        Map<Class<?>, Field[]> fields = ClassMetadata.resolve(config == null ? DEFAULT_CONFIG : config, roots);
+        ClassMetadata.save(file, fields);
+        return fields.size();
+    }
+
+    /**
+     * Load the fields of the classes from the file written by {@link #saveMetadata(Path)}
+     *
+     * @param file The metadata file
+     * @return Number of classes whose fields were loaded
+     * @throws IOException If the file cannot be read or it is not a metadata file
+     * @see #loadMetadata(Path, EqualLibConfig)
+     */
+    public static int loadMetadata(Path file) throws IOException {
+        return loadMetadata(file, null);
+    }
+
+    /**
+     * Load the fields of the classes from the file written by {@link #saveMetadata(Path)} and build their comparison plans
+     * <p>
+     * The classes are resolved by the context class loader of the thread. Classes that cannot be found or whose fields
+     * changed since the file was written are skipped, their metadata is resolved lazily at their first comparison.
+     * </p>
+     *
+     * @param file   The metadata file
+     * @param config Configuration to build the plans for (null to load only the fields)
+     * @return Number of classes whose fields were loaded
+     * @throws IOException If the file cannot be read or it is not a metadata file
+     */
+    public static int loadMetadata(Path file, EqualLibConfig config) throws IOException {
+        Map<Class<?>, Field[]> loaded = ClassMetadata.load(file, ClassMetadata.defaultLoader());
+        loaded.forEach(FIELD_CACHE::putIfAbsent);
+        if (config != null) {
+            ClassMetadata.buildPlans(config, loaded.keySet());
+        }
+        return loaded.size();
+    }
+
+    /**
+     * Write the GraalVM native-image reflection configuration of the classes reachable from the roots
+     * <p>
+     * The classes are resolved as by {@link #warmUp(EqualLibConfig, Class[])}, every class compared by reflection
+     * and all its fields are registered (the fields of superclasses with their declaring classes). Together with the file
+     * written by {@link #saveMetadata(Path, EqualLibConfig, Class[])} it lets the native image compare the classes with
+     * {@link EqualLibConfig#setPrecomputedMetadataOnly(boolean)}.
+     * </p>
+     *
+     * @param file   The reflect-config.json file (replaced if it exists)
+     * @param config Configuration for the comparison
+     * @param roots  Classes to start from
+     * @return Number of registered classes
+     * @throws IOException If the file cannot be written
+     * @throws java.lang.reflect.InaccessibleObjectException If the package of a class compared by reflection is not open
+     */
+    public static int writeReflectConfig(Path file, EqualLibConfig config, Class<?>... roots) throws IOException {
+        return ClassMetadata.writeReflectConfig(file, ClassMetadata.resolve(config == null ? DEFAULT_CONFIG : config, roots));
+    }
+
+    /**
+     * Clear the field cache and the compiled comparison plans to free up memory
+     */
+    public static void clearFieldCache() {
+        FIELD_CACHE.clear();
+        ComparisonPlan.clearPlans();
+    }
+
+    /**
+     * Clear the cached comparison results of all configurations (see {@link EqualLibConfig#setResultCacheSize(int)})
+     */
+    public static void clearResultCache() {
+        ResultCache.clearAll();
+    }
+
+
+}
@@ -0,0 +1,672 @@
+package com.romiiis.core;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration class for EqualLib.
+ * <p>
+ * This class customizes deep object comparison behavior, including settings for
+ * ignored field paths, custom equals for specified classes or packages, maximum
+ * comparison depth, and additional options.
+ */
+public class EqualLibConfig {
+
+    /**
+     * Maximum depth for object comparison.
+     * A value of -1 indicates no depth limit.
+     */
+    private int maxComparisonDepth = -1;
+
+    /**
+     * Set of fully qualified field paths to ignore during comparison.
+     * Example: "com.example.data.Person.name"
+     */
+    private Set<String> ignoredFieldPaths = new HashSet<>();
+
+    /**
+     * Set of fully qualified class or package names where the custom equals method should be used.
+     */
+    private Set<String> customEqualsClasses = new HashSet<>();
+
+    /**
+     * If true, once the maximum depth is reached, the standard equals() method will be used for further comparison.
+     */
+    private boolean useStandardEqualsAfterDepth = false;
+
+    /**
+     * If true, only inherited fields (fields declared in superclasses) are compared.
+     * If false, all fields of the object are compared.
+     */
+    private boolean compareInheritedFields = false;
+
+    /**
+     * If true, collections (Lists, Sets, Maps) are compared as whole objects by examining their internal structure.
+     * If false, collections are compared element by element.
+     */
+    private boolean compareCollectionsByElements = false;
+
+    /**
+     * If true, debug information is printed during the comparison process.
+     */
+    private boolean debugEnabled = false;
+
+    /**
+     * Number of field comparisons of one class after which a specialized comparator is generated for the class.
+     * A value of -1 (default) disables the generated comparators.
+     */
+    private int compilationThreshold = -1;
+
+    /**
+     * Order in which the pairs of the object graphs are compared.
+     */
+    private TraversalStrategy traversalStrategy = TraversalStrategy.BREADTH_FIRST;
+
+    /**
+     * Number of waiting pairs up to which the hybrid traversal is breadth first.
+     */
+    private int hybridFrontierLimit = 1024;
+
+    /**
+     * If true, the object graphs are compared by multiple threads.
+     */
+    private boolean parallelComparison = false;
+
+    /**
+     * Pool used for the parallel comparison (null for the common pool).
+     */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * Minimum size of an array or list whose elements are compared in parallel chunks.
+     */
+    private int parallelThreshold = 8192;
+
+    /**
+     * Maximum number of pairs visited by one comparison.
+     * A value of -1 indicates no limit.
+     */
+    private long maxVisitedPairs = -1;
+
+    /**
+     * Maximum number of fields (and array elements) read by one comparison.
+     * A value of -1 indicates no limit.
+     */
+    private long maxFieldsRead = -1;
+
+    /**
+     * Maximum duration of one comparison (null for no limit).
+     */
+    private Duration timeLimit;
+
+    /**
+     * Maximum number of cached comparison results (0 disables the cache).
+     */
+    private int resultCacheSize = 0;
+
+    /**
+     * Set of fully qualified class or package names of immutable classes whose comparison results are cached
+     * (wrappers and String are always immutable).
+     */
+    private Set<String> immutableClasses = new HashSet<>();
+
+    /**
+     * Classes resolved against the immutable classes (filled lazily, reset when the immutable classes change).
+     */
+    private Map<Class<?>, Boolean> immutableTypes = new ConcurrentHashMap<>();
+
+    /**
+     * If true, comparison results of mutable JDK collections are cached and reused while the collections do not change.
+     */
+    private boolean cacheMutableCollections = false;
+
+    /**
+     * If true, only the precomputed class metadata is used (no class is walked by reflection and no comparator is generated).
+     */
+    private boolean precomputedMetadataOnly = false;
+
+    /**
+     * Result cache of this configuration (resolved lazily, reset when a result-relevant setting changes).
+     */
+    private ResultCache resultCache;
+
+    /**
+     * Comparison plans for this configuration (resolved lazily, reset when a plan-relevant setting changes).
+     */
+    private Map<Class<?>, ComparisonPlan> plans;
+
+    /**
+     * Generation of the plan tables the plans were resolved in (see {@link ComparisonPlan#generation()}).
+     */
+    private int plansGeneration;
+
+    /**
+     * Sets the maximum depth for comparison.
+     *
+     * @param maxComparisonDepth          Maximum depth for comparison (-1 for no limit).
+     * @param useStandardEqualsAfterDepth If true, standard equals() is used once the maximum depth is reached.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setMaxComparisonDepth(int maxComparisonDepth, boolean useStandardEqualsAfterDepth) {
+        if (maxComparisonDepth < -1) {
+            throw new IllegalArgumentException("maxComparisonDepth must be -1 or greater");
+        }
+        this.maxComparisonDepth = maxComparisonDepth;
+        this.useStandardEqualsAfterDepth = useStandardEqualsAfterDepth;
+        this.resultCache = null;
+        return this;
+    }
+
+    /**
+     * Sets the field paths to be ignored during comparison.
+     *
+     * @param ignoredFieldPaths Fully qualified field paths to ignore.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setIgnoredFieldPaths(String... ignoredFieldPaths) {
+        this.ignoredFieldPaths = Set.of(ignoredFieldPaths);
+        this.plans = null;
+        this.resultCache = null;
+        return this;
+    }
+
+    /**
+     * Sets the classes or packages for which the custom equals method should be used.
+     * Only the equals method is required, the hash code of these classes is never used
+     * (it does not have to be consistent with equals).
+     *
+     * @param customEqualsClasses Fully qualified class or package names.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setCustomEqualsClasses(String... customEqualsClasses) {
+        this.customEqualsClasses = Set.of(customEqualsClasses);
+        this.plans = null;
+        this.resultCache = null;
+        return this;
+    }
+
+    /**
+     * Sets whether to compare only inherited fields.
+     *
+     * @param compareInheritedFields If true, only fields from superclasses are compared.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setCompareInheritedFields(boolean compareInheritedFields) {
+        this.compareInheritedFields = compareInheritedFields;
+        this.resultCache = null;
+        return this;
+    }
+
+    /**
+     * Sets how collections should be compared.
+     *
+     * @param compareCollectionsByElements If true, collections are compared as whole objects by examining their internal structure.
+     *                                     If false, collections are compared element by element.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setCompareCollectionsByElements(boolean compareCollectionsByElements) {
+        this.compareCollectionsByElements = compareCollectionsByElements;
+        this.plans = null;
+        this.resultCache = null;
+        return this;
+    }
+
+    /**
+     * Sets after how many field comparisons of one class a specialized comparator is generated for it.
+     * The generated comparator reads primitive, wrapper and String fields without reflection.
+     * It is defined as a hidden class at runtime, so it is disabled by default and enabled by a threshold of 0 or greater
+     * (e.g. {@code setCompilationThreshold(1000)} for classes compared many times).
+     *
+     * @param compilationThreshold Number of comparisons before the comparator is generated (-1 to disable, 0 to generate immediately).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setCompilationThreshold(int compilationThreshold) {
+        if (compilationThreshold < -1) {
+            throw new IllegalArgumentException("compilationThreshold must be -1 or greater");
+        }
+        this.compilationThreshold = compilationThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the order in which the pairs of the object graphs are compared.
+     * <p>
+     * When the maximum comparison depth is set, the comparison is always breadth first
+     * (the depth of an object is the length of the shortest path to it).
+     * </p>
+     *
+     * @param traversalStrategy Breadth first, depth first or hybrid traversal.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setTraversalStrategy(TraversalStrategy traversalStrategy) {
+        if (traversalStrategy == null) {
+            throw new IllegalArgumentException("traversalStrategy must not be null");
+        }
+        this.traversalStrategy = traversalStrategy;
+        return this;
+    }
+
+    /**
+     * Sets up to how many waiting pairs the hybrid traversal is breadth first (it is depth first above it).
+     *
+     * @param hybridFrontierLimit Number of waiting pairs (0 or greater).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setHybridFrontierLimit(int hybridFrontierLimit) {
+        if (hybridFrontierLimit < 0) {
+            throw new IllegalArgumentException("hybridFrontierLimit must be 0 or greater");
+        }
+        this.hybridFrontierLimit = hybridFrontierLimit;
+        return this;
+    }
+
+    /**
+     * Sets whether the object graphs are compared by multiple threads of a {@link ForkJoinPool}.
+     * <p>
+     * The parallel comparison pays off for big object graphs only.
+     * When the maximum comparison depth is set, the comparison is not parallel.
+     * </p>
+     *
+     * @param parallelComparison If true, the object graphs are compared in parallel.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setParallelComparison(boolean parallelComparison) {
+        this.parallelComparison = parallelComparison;
+        return this;
+    }
+
+    /**
+     * Sets the pool used for the parallel comparison.
+     *
+     * @param forkJoinPool The pool (null for {@link ForkJoinPool#commonPool()}).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * Sets the minimum size of an array or list whose elements are split into chunks compared in parallel.
+     * Used only when the comparison is parallel.
+     *
+     * @param parallelThreshold Minimum number of elements (1 or greater).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("parallelThreshold must be 1 or greater");
+        }
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of pairs visited by one comparison.
+     * A comparison exceeding it is stopped (see {@link EqualLib#compare(Object, Object, EqualLibConfig)}).
+     *
+     * @param maxVisitedPairs Maximum number of pairs (-1 for no limit).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setMaxVisitedPairs(long maxVisitedPairs) {
+        if (maxVisitedPairs < -1) {
+            throw new IllegalArgumentException("maxVisitedPairs must be -1 or greater");
+        }
+        this.maxVisitedPairs = maxVisitedPairs;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of fields (and array elements) read by one comparison.
+     * A comparison exceeding it is stopped (see {@link EqualLib#compare(Object, Object, EqualLibConfig)}).
+     *
+     * @param maxFieldsRead Maximum number of fields (-1 for no limit).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setMaxFieldsRead(long maxFieldsRead) {
+        if (maxFieldsRead < -1) {
+            throw new IllegalArgumentException("maxFieldsRead must be -1 or greater");
+        }
+        this.maxFieldsRead = maxFieldsRead;
+        return this;
+    }
+
+    /**
+     * Sets the maximum duration of one comparison.
+     * A comparison running longer is stopped (see {@link EqualLib#compare(Object, Object, EqualLibConfig)}).
+     *
+     * @param timeLimit Maximum duration (null for no limit).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setTimeLimit(Duration timeLimit) {
+        if (timeLimit != null && (timeLimit.isNegative() || timeLimit.isZero())) {
+            throw new IllegalArgumentException("timeLimit must be positive");
+        }
+        this.timeLimit = timeLimit;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of comparison results cached across calls.
+     * <p>
+     * A repeated comparison of the same two objects (in any order) then returns the cached result without traversing
+     * the graphs. The result is only valid while the graphs do not change, so the cache should be used only
+     * for immutable objects (see {@link #setImmutableClasses(String...)}). The objects are referenced weakly.
+     * </p>
+     *
+     * @param resultCacheSize Maximum number of cached results (0 to disable the cache).
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setResultCacheSize(int resultCacheSize) {
+        if (resultCacheSize < 0) {
+            throw new IllegalArgumentException("resultCacheSize must be 0 or greater");
+        }
+        this.resultCacheSize = resultCacheSize;
+        this.resultCache = null;
+        return this;
+    }
+
+    /**
+     * Sets the immutable classes or packages whose comparison results are cached.
+     * Wrappers and String are always considered immutable, if no class is set, only their results are cached.
+     *
+     * @param immutableClasses Fully qualified class or package names.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setImmutableClasses(String... immutableClasses) {
+        this.immutableClasses = Set.of(immutableClasses);
+        this.immutableTypes = new ConcurrentHashMap<>();
+        return this;
+    }
+
+    /**
+     * Sets whether comparison results of mutable JDK collections (e.g. ArrayList, LinkedList, HashMap) are cached.
+     * <p>
+     * The result is stored with the modification count, size and identity checksum of the elements of both
+     * compared collections and reused only while none of them changes. Changes inside the elements are not
+     * detected, so only collections whose elements (keys and values of maps) are all of the immutable classes
+     * are cached (see {@link #setImmutableClasses(String...)}).
+     * Checking the stamp iterates both collections, so a cached result saves the deep comparison of the elements
+     * but every call still takes O(n) time. Reading the modification count requires
+     * {@code java.util} to be open to EqualLib. Used only when the result cache is enabled
+     * (see {@link #setResultCacheSize(int)}).
+     * </p>
+     *
+     * @param cacheMutableCollections If true, results of unchanged collections are reused.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setCacheMutableCollections(boolean cacheMutableCollections) {
+        this.cacheMutableCollections = cacheMutableCollections;
+        return this;
+    }
+
+    /**
+     * Sets whether only the precomputed class metadata is used, e.g. in a GraalVM native image.
+     * <p>
+     * The fields of the compared classes are taken only from the metadata loaded by
+     * {@link EqualLib#loadMetadata(java.nio.file.Path, EqualLibConfig)} (or resolved by {@link EqualLib#warmUp(EqualLibConfig, Class[])}),
+     * comparing a class without the metadata throws {@link IllegalStateException}. No comparator is generated at runtime
+     * (see {@link #setCompilationThreshold(int)}), comparators generated at compile time are still used.
+     * </p>
+     *
+     * @param precomputedMetadataOnly If true, only the precomputed metadata is used.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setPrecomputedMetadataOnly(boolean precomputedMetadataOnly) {
+        this.precomputedMetadataOnly = precomputedMetadataOnly;
+        return this;
+    }
+
+    /**
+     * Enables or disables debug mode.
+     *
+     * @param debugEnabled If true, debug information will be printed during comparison.
+     * @return Updated EqualLibConfig instance.
+     */
+    public EqualLibConfig setDebugEnabled(boolean debugEnabled) {
+        this.debugEnabled = debugEnabled;
+        return this;
+    }
+
+    /**
+     * Gets the maximum depth for comparison.
+     *
+     * @return Maximum depth for comparison (-1 for no limit).
+     */
+    public int getMaxComparisonDepth() {
+        return maxComparisonDepth;
+    }
+
+    /**
+     * Gets the set of fully qualified field paths to ignore during comparison.
+     *
+     * @return Set of fully qualified field paths.
+     */
+    public Set<String> getIgnoredFieldPaths() {
+        return ignoredFieldPaths;
+    }
+
+    /**
+     * Gets the set of classes or packages for which the custom equals method should be used.
+     *
+     * @return Set of fully qualified class or package names.
+     */
+    public Set<String> getCustomEqualsClasses() {
+        return customEqualsClasses;
+    }
+
+
+    /**
+     * Checks if standard equals() should be used after reaching the maximum depth.
+     *
+     * @return true if standard equals() is used after depth, false otherwise.
+     */
+    public boolean isUseStandardEqualsAfterDepth() {
+        return useStandardEqualsAfterDepth;
+    }
+
+
+    /**
+     * Checks if only inherited fields should be compared.
+     *
+     * @return true if only inherited fields are compared, false otherwise.
+     */
+    public boolean isCompareInheritedFields() {
+        return compareInheritedFields;
+    }
+
+    /**
+     * Checks if collections should be compared only by elements.
+     *
+     * @return true if collections are compared by elements, false otherwise.
+     */
+    public boolean isCompareCollectionsByElements() {
+        return compareCollectionsByElements;
+    }
+
+    /**
+     * Gets after how many field comparisons of one class a specialized comparator is generated for it.
+     *
+     * @return Number of comparisons before the comparator is generated (-1 if disabled).
+     */
+    public int getCompilationThreshold() {
+        return compilationThreshold;
+    }
+
+    /**
+     * Gets the order in which the pairs of the object graphs are compared.
+     *
+     * @return The traversal strategy.
+     */
+    public TraversalStrategy getTraversalStrategy() {
+        return traversalStrategy;
+    }
+
+    /**
+     * Gets up to how many waiting pairs the hybrid traversal is breadth first.
+     *
+     * @return Number of waiting pairs.
+     */
+    public int getHybridFrontierLimit() {
+        return hybridFrontierLimit;
+    }
+
+    /**
+     * Checks if the object graphs are compared by multiple threads.
+     *
+     * @return true if the comparison is parallel, false otherwise.
+     */
+    public boolean isParallelComparison() {
+        return parallelComparison;
+    }
+
+    /**
+     * Gets the pool used for the parallel comparison.
+     *
+     * @return The pool (the common pool if no pool is set).
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Gets the minimum size of an array or list whose elements are compared in parallel chunks.
+     *
+     * @return Minimum number of elements.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Gets the maximum number of pairs visited by one comparison.
+     *
+     * @return Maximum number of pairs (-1 for no limit).
+     */
+    public long getMaxVisitedPairs() {
+        return maxVisitedPairs;
+    }
+
+    /**
+     * Gets the maximum number of fields (and array elements) read by one comparison.
+     *
+     * @return Maximum number of fields (-1 for no limit).
+     */
+    public long getMaxFieldsRead() {
+        return maxFieldsRead;
+    }
+
+    /**
+     * Gets the maximum duration of one comparison.
+     *
+     * @return Maximum duration (null for no limit).
+     */
+    public Duration getTimeLimit() {
+        return timeLimit;
+    }
+
+    /**
+     * Gets the maximum number of comparison results cached across calls.
+     *
+     * @return Maximum number of cached results (0 if the cache is disabled).
+     */
+    public int getResultCacheSize() {
+        return resultCacheSize;
+    }
+
+    /**
+     * Gets the immutable classes or packages whose comparison results are cached.
+     *
+     * @return Set of fully qualified class or package names.
+     */
+    public Set<String> getImmutableClasses() {
+        return immutableClasses;
+    }
+
+    /**
+     * Checks if comparison results of mutable JDK collections are cached.
+     *
+     * @return true if results of unchanged collections are reused, false otherwise.
+     */
+    public boolean isCacheMutableCollections() {
+        return cacheMutableCollections;
+    }
+
+    /**
+     * Checks if only the precomputed class metadata is used.
+     *
+     * @return true if only the precomputed metadata is used, false otherwise.
+     */
+    public boolean isPrecomputedMetadataOnly() {
+        return precomputedMetadataOnly;
+    }
+
+    /**
+     * Checks if the comparison has any budget (the comparison is then monitored and stops on thread interrupt).
+     *
+     * @return true if a budget is set, false otherwise.
+     */
+    boolean hasBudget() {
+        return maxVisitedPairs != -1 || maxFieldsRead != -1 || timeLimit != null;
+    }
+
+    /**
+     * Checks if debug mode is enabled.
+     *
+     * @return true if debug mode is enabled, false otherwise.
+     */
+    public boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
+    /**
+     * Gets the result cache of this configuration.
+     *
+     * @return The result cache (null if results are not cached).
+     */
+    ResultCache getResultCache() {
+        ResultCache cache = resultCache;
+        if (cache == null && resultCacheSize > 0) {
+            cache = ResultCache.forConfig(this);
+            resultCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * Check if the class is immutable, i.e. a wrapper, String or a listed immutable class or package.
+     * The result is resolved once per class.
+     *
+     * @param type The class
+     * @return true if the comparison results of the class can be cached
+     */
+    boolean isImmutable(Class<?> type) {
+        Boolean immutable = immutableTypes.get(type);
+        if (immutable == null) {
+            immutable = EqualLib.isWrapperOrString(type) || EqualLib.isListed(type, immutableClasses);
+            immutableTypes.put(type, immutable);
+        }
+        return immutable;
+    }
+
+    /**
+     * Gets the comparison plans compiled for this configuration.
+     *
+     * @return Map of classes to their comparison plans.
+     */
+    Map<Class<?>, ComparisonPlan> getPlans() {
+        Map<Class<?>, ComparisonPlan> table = plans;
+        int generation = ComparisonPlan.generation();
+        if (table == null || plansGeneration != generation) {
+            // The table was dropped by EqualLib.clearFieldCache, the cleared plans must not be served anymore
+            table = ComparisonPlan.tableFor(this);
+            plans = table;
+            plansGeneration = generation;
+        }
+        return table;
+    }
+}
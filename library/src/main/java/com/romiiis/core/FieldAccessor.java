@@ -0,0 +1,272 @@
+package com.romiiis.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Typed read access to one field, backed by an unreflected method handle.
+ * <p>
+ * The getter is adapted to take {@code Object} and to return the exact primitive type of the field,
+ * so primitive fields are read and compared without boxing them into wrappers.
+ * If the method handle cannot be created, the typed getters of {@link Field} are used instead (they do not box either).
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see ComparisonPlan
+ */
+final class FieldAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Field field;
+    private final Class<?> type;
+    private final MethodHandle getter;
+
+
+    /**
+     * Constructor for the FieldAccessor class.
+     *
+     * @param field The field to read (must be accessible).
+     */
+    FieldAccessor(Field field) {
+        this.field = field;
+        this.type = field.getType();
+        this.getter = createGetter(field);
+    }
+
+
+    /**
+     * Create the getter of the field with the type (Object)T where T is the primitive type of the field or Object.
+     *
+     * @param field The field to read
+     * @return The getter of the field
+     */
+    private static MethodHandle createGetter(Field field) {
+        Class<?> returnType = field.getType().isPrimitive() ? field.getType() : Object.class;
+        MethodType erased = MethodType.methodType(returnType, Object.class);
+
+        try {
+            return LOOKUP.unreflectGetter(field).asType(erased);
+        } catch (IllegalAccessException e) {
+            // Fall back to the typed getters of the Field (getInt, getLong, ...)
+            String name = "get" + (returnType == Object.class ? "" : Character.toUpperCase(returnType.getName().charAt(0)) + returnType.getName().substring(1));
+            try {
+                return LOOKUP.findVirtual(Field.class, name, erased).bindTo(field);
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Cannot access field: " + field, ex);
+            }
+        }
+    }
+
+
+    /**
+     * Compare the values of a primitive field in two objects without boxing.
+     * Floating point values are compared in the same way as {@link Double#equals(Object)} does.
+     *
+     * @param a First object
+     * @param b Second object
+     * @return true if the values are equal, false otherwise
+     */
+    boolean primitiveEquals(Object a, Object b) {
+        if (type == int.class) return getInt(a) == getInt(b);
+        if (type == long.class) return getLong(a) == getLong(b);
+        if (type == double.class) return Double.doubleToLongBits(getDouble(a)) == Double.doubleToLongBits(getDouble(b));
+        if (type == boolean.class) return getBoolean(a) == getBoolean(b);
+        if (type == float.class) return Float.floatToIntBits(getFloat(a)) == Float.floatToIntBits(getFloat(b));
+        if (type == char.class) return getChar(a) == getChar(b);
+        if (type == byte.class) return getByte(a) == getByte(b);
+        return getShort(a) == getShort(b);
+    }
+
+
+    /**
+     * Hash the value of a primitive field without boxing (same as the hash code of the wrapper).
+     *
+     * @param obj Object to read the field from
+     * @return The hash of the value
+     */
+    int primitiveHash(Object obj) {
+        if (type == int.class) return getInt(obj);
+        if (type == long.class) return Long.hashCode(getLong(obj));
+        if (type == double.class) return Double.hashCode(getDouble(obj));
+        if (type == boolean.class) return Boolean.hashCode(getBoolean(obj));
+        if (type == float.class) return Float.hashCode(getFloat(obj));
+        if (type == char.class) return getChar(obj);
+        if (type == byte.class) return getByte(obj);
+        return getShort(obj);
+    }
+
+
+    /**
+     * Read the value of a reference field.
+     * For primitive fields the value is boxed, so this should be used for them only for debug output.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    Object get(Object obj) {
+        if (type.isPrimitive()) {
+            try {
+                return field.get(obj);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access field: " + field, e);
+            }
+        }
+        try {
+            return (Object) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of an int field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    int getInt(Object obj) {
+        try {
+            return (int) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of a long field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    long getLong(Object obj) {
+        try {
+            return (long) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of a double field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    double getDouble(Object obj) {
+        try {
+            return (double) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of a float field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    float getFloat(Object obj) {
+        try {
+            return (float) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of a boolean field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    boolean getBoolean(Object obj) {
+        try {
+            return (boolean) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of a char field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    char getChar(Object obj) {
+        try {
+            return (char) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of a byte field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    byte getByte(Object obj) {
+        try {
+            return (byte) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Read the value of a short field.
+     *
+     * @param obj Object to read the field from
+     * @return The value of the field
+     */
+    short getShort(Object obj) {
+        try {
+            return (short) getter.invokeExact(obj);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+
+    /**
+     * Rethrow the exception thrown by the getter (unchecked exceptions and errors are rethrown as they are).
+     *
+     * @param t The thrown exception
+     * @return Never returns, declared to be used in throw statements
+     */
+    private RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException("Cannot read field: " + field, t);
+    }
+
+
+    /**
+     * Get the accessed field.
+     *
+     * @return The accessed field.
+     */
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * Get the getter of the field with the type (Object)T where T is the primitive type of the field or Object.
+     *
+     * @return The getter of the field.
+     */
+    MethodHandle getGetter() {
+        return getter;
+    }
+}
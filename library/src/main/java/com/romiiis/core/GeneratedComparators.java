@@ -0,0 +1,70 @@
+package com.romiiis.core;
+
+import com.romiiis.spi.DeepComparator;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Comparators generated at compile time, found by {@link ServiceLoader} when they are first needed.
+ * <p>
+ * A provider that cannot be loaded is skipped, its class is then compared by reflection.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see DeepComparator
+ */
+final class GeneratedComparators {
+
+    /**
+     * Comparators by their compared class (loaded once)
+     */
+    private static volatile Map<Class<?>, DeepComparator<?>> comparators;
+
+
+    private GeneratedComparators() {
+    }
+
+
+    /**
+     * Get the comparator generated for the class.
+     *
+     * @param type The compared class
+     * @return The comparator, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    static DeepComparator<Object> find(Class<?> type) {
+        Map<Class<?>, DeepComparator<?>> loaded = comparators;
+        if (loaded == null) {
+            loaded = load();
+            comparators = loaded;
+        }
+        return (DeepComparator<Object>) loaded.get(type);
+    }
+
+
+    /**
+     * Load all comparators provided to EqualLib.
+     */
+    @SuppressWarnings("rawtypes")
+    private static Map<Class<?>, DeepComparator<?>> load() {
+        Map<Class<?>, DeepComparator<?>> loaded = new HashMap<>();
+        Iterator<DeepComparator> providers = ServiceLoader.load(DeepComparator.class).iterator();
+        while (true) {
+            try {
+                if (!providers.hasNext()) {
+                    break;
+                }
+                DeepComparator<?> comparator = providers.next();
+                loaded.put(comparator.getType(), comparator);
+            } catch (ServiceConfigurationError e) {
+                // The class of the provider is compared by reflection
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,464 @@
+package com.romiiis.core;
+
+import com.romiiis.util.Pair;
+import com.romiiis.util.PairDeque;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Comparison of two object graphs by the threads of a {@link ForkJoinPool}.
+ * <p>
+ * Every worker compares the pairs of its own queue in the same way as the sequential loop of {@link EqualLib}.
+ * When other threads of the pool have nothing to do, the worker gives half of its queue to a new worker
+ * which can be stolen by them. All workers share one thread-safe set of visited pairs, so a pair is compared
+ * by one worker only. The first mismatch found by any worker stops all other workers.
+ * </p>
+ * <p>
+ * Containers bigger than {@link EqualLibConfig#getParallelThreshold()} are split between workers:
+ * the index range of arrays and lists is split into chunks, the elements of sets and the keys of maps
+ * are split into partitions by their structural hash (deeply equal elements are always in the same partition).
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLibConfig#setParallelComparison(boolean)
+ */
+final class ParallelComparison {
+
+    /**
+     * Number of compared pairs between two checks if the queue should be split
+     */
+    private static final int SPLIT_CHECK_INTERVAL = 32;
+
+    /**
+     * Minimum number of waiting pairs of a worker to split its queue
+     */
+    private static final int MIN_SPLIT_SIZE = 4;
+
+    /**
+     * Minimum number of elements of one chunk of an array or list
+     */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    /**
+     * Number of elements of a chunk enqueued at once (the queue is emptied before the next elements are enqueued)
+     */
+    private static final int BLOCK_SIZE = 256;
+
+    /**
+     * Average number of elements of one partition of a set or map
+     */
+    private static final int PARTITION_SIZE = 4096;
+
+    /**
+     * Maximum number of partitions of a set or map
+     */
+    private static final int MAX_PARTITIONS = 1 << 16;
+
+    private final EqualLibConfig config;
+    private final ComparisonMonitor monitor;
+    private final int parallelism;
+    private final VisitedPairs visited;
+    private final AtomicBoolean mismatch = new AtomicBoolean();
+
+
+    private ParallelComparison(EqualLibConfig config, ComparisonMonitor monitor, ForkJoinPool pool) {
+        this.config = config;
+        this.monitor = monitor;
+        this.parallelism = pool.getParallelism();
+        this.visited = VisitedPairs.shared(parallelism);
+    }
+
+
+    /**
+     * Deep compare two objects in parallel.
+     *
+     * @param obj1    First object to compare
+     * @param obj2    Second object to compare
+     * @param config  Configuration for the comparison
+     * @param monitor Monitor of the comparison (null if it is not monitored)
+     * @return true if the objects are deeply equal, false otherwise
+     */
+    static boolean compare(Object obj1, Object obj2, EqualLibConfig config, ComparisonMonitor monitor) {
+        ForkJoinPool pool = config.getForkJoinPool();
+        ParallelComparison comparison = new ParallelComparison(config, monitor, pool);
+
+        PairDeque queue = new PairDeque();
+        queue.addLast(obj1, obj2, 0);
+        pool.invoke(comparison.new QueueWorker(queue));
+
+        return !comparison.mismatch.get();
+    }
+
+
+    /**
+     * Worker comparing its own part of the objects and then the pairs of its queue.
+     */
+    private abstract class Worker extends RecursiveAction {
+
+        final PairDeque queue;
+        private List<Worker> forked;
+
+        Worker(PairDeque queue) {
+            this.queue = queue;
+        }
+
+        /**
+         * Compare the part of the objects given to this worker.
+         */
+        abstract void compareOwn();
+
+        @Override
+        protected void compute() {
+            try {
+                compareOwn();
+            } catch (RuntimeException | Error e) {
+                mismatch.set(true);
+                throw e;
+            }
+
+            if (forked != null) {
+                for (Worker worker : forked) {
+                    worker.join();
+                }
+            }
+        }
+
+
+        /**
+         * Compare the pairs of the queue until it is empty (or a mismatch is found).
+         */
+        void compareQueue() {
+            int frontierLimit = EqualLib.frontierLimit(config);
+            int compared = 0;
+            int unreported = 0;
+
+            while (!mismatch.get() && (queue.size() > frontierLimit ? queue.pollLast() : queue.pollFirst())) {
+                Object a = queue.first();
+                Object b = queue.second();
+                int depth = queue.depth();
+
+                if (a == b) {
+                    continue;
+                }
+
+                if (a == null || b == null) {
+                    mismatch.set(true);
+                    return;
+                }
+
+                if (!visited.add(a, b)) {
+                    continue;
+                }
+
+                // The monitor stops the comparison if it is cancelled or out of budget (the workers are stopped by the exception)
+                if (monitor != null && ++unreported == monitor.getCheckInterval()) {
+                    monitor.pairsCompared(unreported);
+                    unreported = 0;
+                }
+
+                if (!forkContainer(a, b, depth) && !EqualLib.compareObject(a, b, depth, queue, visited, monitor, config)) {
+                    mismatch.set(true);
+                    return;
+                }
+
+                // Give half of the queue to idle threads
+                if (++compared % SPLIT_CHECK_INTERVAL == 0 && queue.size() >= MIN_SPLIT_SIZE && getSurplusQueuedTaskCount() < 2) {
+                    forkWorker(split());
+                }
+            }
+
+            // The queue of a chunk is short, its pairs are reported at the end
+            if (monitor != null && unreported > 0) {
+                monitor.pairsCompared(unreported);
+            }
+        }
+
+        /**
+         * Compare the elements of big containers in separate workers.
+         * The decision how the pair is compared is the same as in {@link EqualLib#compareObject}.
+         *
+         * @return true if the pair is handled (the workers are forked or the sizes differ), false otherwise
+         */
+        private boolean forkContainer(Object a, Object b, int depth) {
+            int size;
+            if (a instanceof Object[] arrayA) {
+                size = arrayA.length;
+            } else if (a instanceof List<?> listA && a instanceof RandomAccess) {
+                size = listA.size();
+            } else if (a instanceof Set<?> setA) {
+                size = setA.size();
+            } else if (a instanceof Map<?, ?> mapA) {
+                size = mapA.size();
+            } else {
+                return false;
+            }
+
+            if (size < config.getParallelThreshold()) {
+                return false;
+            }
+
+            Class<?> type = Pair.getCommonType(a, b, config.isCompareInheritedFields());
+            if (type == null) {
+                return false;
+            }
+
+            ComparisonPlan.Strategy strategy = EqualLib.getPlan(type, config).getStrategy();
+            if (a instanceof Object[]) {
+                if (strategy != ComparisonPlan.Strategy.ARRAY || !(b instanceof Object[] arrayB)) {
+                    return false;
+                }
+                if (arrayB.length != size) {
+                    mismatch.set(true);
+                    return true;
+                }
+                if (monitor != null) monitor.fieldsRead(size);
+                forkChunks(a, b, size, depth + 1);
+                return true;
+            }
+
+            if (strategy != ComparisonPlan.Strategy.COLLECTION || a.getClass() != b.getClass()) {
+                return false;
+            }
+
+            if (a instanceof List<?>) {
+                if (((List<?>) b).size() != size) {
+                    mismatch.set(true);
+                    return true;
+                }
+                forkChunks(a, b, size, depth + 1);
+                return true;
+            }
+
+            if (a instanceof Set<?> setA) {
+                Set<?> setB = (Set<?>) b;
+                if (setB.size() != size) {
+                    mismatch.set(true);
+                    return true;
+                }
+                forkPartitions(setA.toArray(), setB.toArray(), null, depth + 1);
+                return true;
+            }
+
+            Map<?, ?> mapB = (Map<?, ?>) b;
+            if (mapB.size() != size) {
+                mismatch.set(true);
+                return true;
+            }
+            forkPartitions(((Map<?, ?>) a).entrySet().toArray(), mapB.keySet().toArray(), mapB, depth + 1);
+            return true;
+        }
+
+        /**
+         * Fork a worker comparing the elements of the arrays or lists (it splits the index range into chunks).
+         */
+        private void forkChunks(Object a, Object b, int size, int elementDepth) {
+            int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4));
+            forkWorker(new ChunkWorker(a, b, 0, size, elementDepth, chunkSize));
+        }
+
+        /**
+         * Split the elements of the sets (or the entries and keys of the maps) into partitions by the structural hash
+         * and fork a worker for every partition. If a partition has a different number of elements in both containers,
+         * the containers are not equal and no worker is forked.
+         *
+         * @param elementsA    Elements of the first set (entries of the first map)
+         * @param elementsB    Elements of the second set (keys of the second map)
+         * @param mapB         Second map (null for sets)
+         * @param elementDepth Depth of the elements
+         */
+        private void forkPartitions(Object[] elementsA, Object[] elementsB, Map<?, ?> mapB, int elementDepth) {
+            int bits = 1;
+            while ((1 << bits) < Math.max(parallelism * 4, elementsA.length / PARTITION_SIZE) && (1 << bits) < MAX_PARTITIONS) {
+                bits++;
+            }
+            int shift = 32 - bits;
+
+            // The hashes are computed in parallel by the threads of the current pool
+            int[] partitionsA = new int[elementsA.length];
+            int[] partitionsB = new int[elementsB.length];
+            Arrays.parallelSetAll(partitionsA, i -> {
+                Object element = mapB == null ? elementsA[i] : ((Map.Entry<?, ?>) elementsA[i]).getKey();
+                return (StructuralHasher.hash(element, elementDepth, config) * 0x9E3779B9) >>> shift;
+            });
+            Arrays.parallelSetAll(partitionsB, i -> (StructuralHasher.hash(elementsB[i], elementDepth, config) * 0x9E3779B9) >>> shift);
+
+            // Every partition must have the same number of elements in both containers
+            int[] starts = new int[(1 << bits) + 1];
+            int[] countsB = new int[1 << bits];
+            for (int partition : partitionsA) {
+                starts[partition + 1]++;
+            }
+            for (int partition : partitionsB) {
+                countsB[partition]++;
+            }
+            for (int i = 0; i < countsB.length; i++) {
+                if (starts[i + 1] != countsB[i]) {
+                    mismatch.set(true);
+                    return;
+                }
+            }
+            for (int i = 1; i < starts.length; i++) {
+                starts[i] += starts[i - 1];
+            }
+
+            // Order the elements by the partition
+            Object[] sortedA = new Object[elementsA.length];
+            Object[] sortedB = new Object[elementsB.length];
+            int[] nextA = Arrays.copyOf(starts, countsB.length);
+            int[] nextB = Arrays.copyOf(starts, countsB.length);
+            for (int i = 0; i < elementsA.length; i++) {
+                sortedA[nextA[partitionsA[i]]++] = elementsA[i];
+            }
+            for (int i = 0; i < elementsB.length; i++) {
+                sortedB[nextB[partitionsB[i]]++] = elementsB[i];
+            }
+
+            for (int i = 0; i < countsB.length; i++) {
+                if (starts[i] < starts[i + 1]) {
+                    forkWorker(new PartitionWorker(sortedA, sortedB, starts[i], starts[i + 1], mapB, elementDepth));
+                }
+            }
+        }
+
+        /**
+         * Fork the worker (it is joined when this worker finishes).
+         */
+        void forkWorker(Worker worker) {
+            if (forked == null) {
+                forked = new ArrayList<>();
+            }
+            worker.fork();
+            forked.add(worker);
+        }
+
+        /**
+         * Move the older half of the queue to a new worker.
+         *
+         * @return The new worker
+         */
+        private Worker split() {
+            int count = queue.size() / 2;
+            PairDeque half = new PairDeque(count);
+            for (int i = 0; i < count; i++) {
+                queue.pollFirst();
+                half.addLast(queue.first(), queue.second(), queue.depth());
+            }
+            return new QueueWorker(half);
+        }
+    }
+
+
+    /**
+     * Worker comparing only the pairs of its queue.
+     */
+    private final class QueueWorker extends Worker {
+
+        QueueWorker(PairDeque queue) {
+            super(queue);
+        }
+
+        @Override
+        void compareOwn() {
+            compareQueue();
+        }
+    }
+
+
+    /**
+     * Worker comparing the elements of two arrays or lists in an index range.
+     */
+    private final class ChunkWorker extends Worker {
+
+        private final Object elementsA;
+        private final Object elementsB;
+        private final int from;
+        private int to;
+        private final int elementDepth;
+        private final int chunkSize;
+
+        ChunkWorker(Object elementsA, Object elementsB, int from, int to, int elementDepth, int chunkSize) {
+            super(new PairDeque());
+            this.elementsA = elementsA;
+            this.elementsB = elementsB;
+            this.from = from;
+            this.to = to;
+            this.elementDepth = elementDepth;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        void compareOwn() {
+            // Split the range into chunks
+            while (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                forkWorker(new ChunkWorker(elementsA, elementsB, middle, to, elementDepth, chunkSize));
+                to = middle;
+            }
+
+            for (int start = from; start < to && !mismatch.get(); start += BLOCK_SIZE) {
+                int end = Math.min(start + BLOCK_SIZE, to);
+
+                if (elementsA instanceof Object[] arrayA) {
+                    if (!EqualLib.compareArrayElements(arrayA, (Object[]) elementsB, start, end, elementDepth, queue)) {
+                        mismatch.set(true);
+                        return;
+                    }
+                } else {
+                    EqualLib.compareListElements((List<?>) elementsA, (List<?>) elementsB, start, end, elementDepth, queue);
+                }
+
+                compareQueue();
+            }
+        }
+    }
+
+
+    /**
+     * Worker comparing one partition of two sets or maps.
+     */
+    private final class PartitionWorker extends Worker {
+
+        private final Object[] elementsA;
+        private final Object[] elementsB;
+        private final int from;
+        private final int to;
+        private final Map<?, ?> mapB;
+        private final int elementDepth;
+
+        PartitionWorker(Object[] elementsA, Object[] elementsB, int from, int to, Map<?, ?> mapB, int elementDepth) {
+            super(new PairDeque());
+            this.elementsA = elementsA;
+            this.elementsB = elementsB;
+            this.from = from;
+            this.to = to;
+            this.mapB = mapB;
+            this.elementDepth = elementDepth;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void compareOwn() {
+            List<Object> partitionA = Arrays.asList(elementsA).subList(from, to);
+            List<Object> partitionB = Arrays.asList(elementsB).subList(from, to);
+
+            boolean matched = mapB == null
+                    ? EqualLib.matchElements(partitionA, partitionB, elementDepth, visited, monitor, config)
+                    : EqualLib.matchEntries((List<Map.Entry<?, ?>>) (List<?>) partitionA, mapB, partitionB, elementDepth, queue, visited, monitor, config);
+
+            if (!matched) {
+                mismatch.set(true);
+                return;
+            }
+            compareQueue();
+        }
+    }
+}
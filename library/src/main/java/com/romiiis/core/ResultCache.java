@@ -0,0 +1,457 @@
+package com.romiiis.core;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Results of previous comparisons of the same objects, reused across calls.
+ * <p>
+ * The cache is keyed by the identity of both compared objects, (a, b) and (b, a) share one entry.
+ * The objects are referenced weakly, so the cache never keeps them alive, and entries of collected objects
+ * are removed. Every segment keeps at most its share of the capacity and evicts the least recently used entry.
+ * The cached result is only valid while the compared object graphs do not change,
+ * so the cache is meant for immutable objects (see {@link EqualLibConfig#setImmutableClasses(String...)}).
+ * </p>
+ * <p>
+ * Results of mutable JDK collections of immutable elements are stored with a {@link Stamp} of both collections
+ * (modification count, size and identity checksum of the elements) and reused only while the stamps do not change
+ * (see {@link EqualLibConfig#setCacheMutableCollections(boolean)}).
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLibConfig#setResultCacheSize(int)
+ */
+final class ResultCache {
+
+    /**
+     * Caches shared between all configurations with the same result-relevant settings and cache size.
+     */
+    private static final Map<List<Object>, ResultCache> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of segments (a small cache has one segment, so its capacity is exact)
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * Minimum capacity of one segment
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    /**
+     * The modification count field of the collection classes (null if the class has none or it is not accessible)
+     */
+    private static final ClassValue<Field> MOD_COUNT_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field computeValue(Class<?> type) {
+            return findModCountField(type);
+        }
+    };
+
+    private final Segment[] segments;
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+
+    private ResultCache(int capacity) {
+        int count = 1;
+        while (count < MAX_SEGMENTS && capacity / (count * 2) >= MIN_SEGMENT_CAPACITY) {
+            count <<= 1;
+        }
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(Math.max(1, capacity / count));
+        }
+    }
+
+
+    /**
+     * Get the cache for the configuration.
+     * Configurations with the same ignored field paths, custom equals classes, collection mode, inherited mode,
+     * maximum depth and cache size share the cache.
+     *
+     * @param config Configuration for the comparison
+     * @return The cache, null if the configuration does not cache results
+     */
+    static ResultCache forConfig(EqualLibConfig config) {
+        if (config.getResultCacheSize() == 0) {
+            return null;
+        }
+        List<Object> fingerprint = List.of(
+                Set.copyOf(config.getIgnoredFieldPaths()),
+                Set.copyOf(config.getCustomEqualsClasses()),
+                config.isCompareCollectionsByElements(),
+                config.isCompareInheritedFields(),
+                config.getMaxComparisonDepth(),
+                config.isUseStandardEqualsAfterDepth(),
+                config.getResultCacheSize());
+        return CACHES.computeIfAbsent(fingerprint, k -> new ResultCache(config.getResultCacheSize()));
+    }
+
+    /**
+     * Clear all caches
+     */
+    static void clearAll() {
+        CACHES.values().forEach(ResultCache::clear);
+    }
+
+
+    /**
+     * Get the stamp of a mutable JDK collection.
+     * <p>
+     * The modification count changes with every structural change, the identity checksum of the elements
+     * detects replaced elements (e.g. {@link List#set(int, Object)} does not change the modification count).
+     * Changes inside the elements are not detected, so only collections whose elements (and keys and values)
+     * are all of the immutable classes are stamped. Taking the stamp iterates the whole collection.
+     * </p>
+     *
+     * @param obj    The object
+     * @param config Configuration with the immutable classes
+     * @return The stamp, null if the object is not a collection or map with an accessible modification count,
+     * or if it holds an object of a mutable class
+     */
+    static Stamp stampOf(Object obj, EqualLibConfig config) {
+        if (!(obj instanceof Collection<?>) && !(obj instanceof Map<?, ?>)) {
+            return null;
+        }
+        Field modCount = MOD_COUNT_FIELDS.get(obj.getClass());
+        if (modCount == null) {
+            return null;
+        }
+
+        ImmutableCheck immutable = new ImmutableCheck(config);
+        int checksum = 1;
+        int size;
+        if (obj instanceof Map<?, ?> map) {
+            size = map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!immutable.test(entry.getKey()) || !immutable.test(entry.getValue())) {
+                    return null;
+                }
+                checksum += 31 * System.identityHashCode(entry.getKey()) ^ System.identityHashCode(entry.getValue());
+            }
+        } else {
+            Collection<?> collection = (Collection<?>) obj;
+            size = collection.size();
+            for (Object element : collection) {
+                if (!immutable.test(element)) {
+                    return null;
+                }
+                checksum = 31 * checksum + System.identityHashCode(element);
+            }
+        }
+
+        try {
+            return new Stamp(modCount.getInt(obj), size, checksum);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Get the cached result of the comparison of the objects.
+     *
+     * @param first       The first object
+     * @param second      The second object
+     * @param firstStamp  Current stamp of the first object (null if it is immutable)
+     * @param secondStamp Current stamp of the second object (null if it is immutable)
+     * @return The cached result, null if the objects are not in the cache or they changed since
+     */
+    Boolean get(Object first, Object second, Stamp firstStamp, Stamp secondStamp) {
+        int hash = hash(first, second);
+        Segment segment = segmentFor(hash);
+        LookupKey key = new LookupKey(first, second, hash);
+        synchronized (segment) {
+            CachedResult cached = segment.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (!cached.isValid(first, firstStamp, secondStamp)) {
+                segment.remove(key);
+                return null;
+            }
+            return cached.equal();
+        }
+    }
+
+    /**
+     * Cache the result of the comparison of the objects.
+     *
+     * @param first       The first object
+     * @param second      The second object
+     * @param firstStamp  Stamp of the first object taken before the comparison (null if it is immutable)
+     * @param secondStamp Stamp of the second object taken before the comparison (null if it is immutable)
+     * @param equal       True if the objects are deeply equal
+     */
+    void put(Object first, Object second, Stamp firstStamp, Stamp secondStamp, boolean equal) {
+        expungeCollected();
+
+        int hash = hash(first, second);
+        Segment segment = segmentFor(hash);
+        StoredKey key = new StoredKey(first, second, hash, collected);
+        CachedResult result = new CachedResult(equal, System.identityHashCode(first), firstStamp, secondStamp);
+        synchronized (segment) {
+            segment.remove(key);
+            segment.put(key, result);
+        }
+    }
+
+    /**
+     * Get the number of cached results.
+     *
+     * @return The number of results (including results of collected objects not removed yet)
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Remove all cached results.
+     */
+    void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+
+    /**
+     * Remove the entries whose objects were collected.
+     */
+    private void expungeCollected() {
+        for (Object ref; (ref = collected.poll()) != null; ) {
+            StoredKey key = ((KeyReference) ref).key;
+            Segment segment = segmentFor(key.hash);
+            synchronized (segment) {
+                segment.remove(key);
+            }
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 16) & (segments.length - 1)];
+    }
+
+    /**
+     * Find the modification count field in the class hierarchy and make it accessible.
+     */
+    private static Field findModCountField(Class<?> type) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField("modCount");
+                if (field.getType() != int.class) {
+                    return null;
+                }
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // Try the superclass
+            } catch (RuntimeException e) {
+                // The package is not open (InaccessibleObjectException)
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Symmetric hash of the pair (the same for both orders of the objects).
+     */
+    private static int hash(Object first, Object second) {
+        int h = System.identityHashCode(first) + System.identityHashCode(second);
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * One segment of the cache, the least recently used entry is evicted when it is full.
+     */
+    private static final class Segment extends LinkedHashMap<Key, CachedResult> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedResult> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * Check of the elements of a stamped collection, remembers the last immutable class
+     * (the elements of a collection are mostly of one class).
+     */
+    private static final class ImmutableCheck {
+
+        private final EqualLibConfig config;
+        private Class<?> lastImmutable;
+
+        ImmutableCheck(EqualLibConfig config) {
+            this.config = config;
+        }
+
+        boolean test(Object obj) {
+            if (obj == null || obj.getClass() == lastImmutable) {
+                return true;
+            }
+            if (!config.isImmutable(obj.getClass())) {
+                return false;
+            }
+            lastImmutable = obj.getClass();
+            return true;
+        }
+    }
+
+    /**
+     * State of a mutable collection at the time of the comparison.
+     *
+     * @param modCount Modification count of the collection
+     * @param size     Number of elements
+     * @param checksum Identity checksum of the elements
+     */
+    record Stamp(int modCount, int size, int checksum) {
+    }
+
+    /**
+     * Cached result with the stamps of the compared objects (in the order they were stored).
+     *
+     * @param equal         True if the objects are deeply equal
+     * @param firstIdentity Identity hash of the first stored object (tells the order of the stamps)
+     * @param firstStamp    Stamp of the first stored object (null if it is immutable)
+     * @param secondStamp   Stamp of the second stored object (null if it is immutable)
+     */
+    private record CachedResult(boolean equal, int firstIdentity, Stamp firstStamp, Stamp secondStamp) {
+
+        /**
+         * Check if the compared objects did not change since the result was stored.
+         */
+        boolean isValid(Object first, Stamp currentFirst, Stamp currentSecond) {
+            if (System.identityHashCode(first) == firstIdentity) {
+                return Objects.equals(firstStamp, currentFirst) && Objects.equals(secondStamp, currentSecond);
+            }
+            return Objects.equals(firstStamp, currentSecond) && Objects.equals(secondStamp, currentFirst);
+        }
+    }
+
+    /**
+     * Key of the pair, equal for both orders of the objects.
+     */
+    private abstract static class Key {
+
+        final int hash;
+
+        Key(int hash) {
+            this.hash = hash;
+        }
+
+        abstract Object first();
+
+        abstract Object second();
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other) || other.hash != hash) {
+                return false;
+            }
+            Object a = first();
+            Object b = second();
+            // Keys of collected objects are equal only to themselves
+            if (a == null || b == null) {
+                return false;
+            }
+            return (a == other.first() && b == other.second()) || (a == other.second() && b == other.first());
+        }
+    }
+
+    /**
+     * Key used to look up the objects (references them strongly for the duration of the lookup).
+     */
+    private static final class LookupKey extends Key {
+
+        private final Object first;
+        private final Object second;
+
+        LookupKey(Object first, Object second, int hash) {
+            super(hash);
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        Object first() {
+            return first;
+        }
+
+        @Override
+        Object second() {
+            return second;
+        }
+    }
+
+    /**
+     * Key stored in the cache (references the objects weakly).
+     */
+    private static final class StoredKey extends Key {
+
+        private final KeyReference first;
+        private final KeyReference second;
+
+        StoredKey(Object first, Object second, int hash, ReferenceQueue<Object> queue) {
+            super(hash);
+            this.first = new KeyReference(first, this, queue);
+            this.second = new KeyReference(second, this, queue);
+        }
+
+        @Override
+        Object first() {
+            return first.get();
+        }
+
+        @Override
+        Object second() {
+            return second.get();
+        }
+    }
+
+    /**
+     * Weak reference to a cached object, enqueued when the object is collected.
+     */
+    private static final class KeyReference extends WeakReference<Object> {
+
+        private final StoredKey key;
+
+        KeyReference(Object referent, StoredKey key, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.romiiis.core;
+
+import com.romiiis.spi.DeepComparator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Structural hash of an object graph, consistent with {@link EqualLib#areEqual(Object, Object, EqualLibConfig)}.
+ * <p>
+ * If two objects are deeply equal with a configuration, they have the same structural hash with that configuration.
+ * The hash follows the same rules as the comparison (ignored fields, custom equals classes, inherited fields,
+ * collections by elements, maximum depth). It is computed from a bounded unfolding of the graph
+ * (a fixed number of levels and elements), so it terminates on cyclic graphs and its cost does not grow with the
+ * size of the graph. Sets and maps are hashed independently of the iteration order.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib
+ */
+final class StructuralHasher {
+
+    /**
+     * Number of levels of the object graph included in the hash
+     */
+    static final int DEFAULT_LEVELS = 4;
+
+    /**
+     * Maximum number of elements of a list or array included in the hash (the size is always included)
+     */
+    private static final int MAX_ORDERED_ELEMENTS = 16;
+
+    /**
+     * Maximum size of a set or map whose elements are included in the hash (only the size is used for bigger ones)
+     */
+    private static final int MAX_UNORDERED_ELEMENTS = 64;
+
+
+    private StructuralHasher() {
+    }
+
+
+    /**
+     * Compute the structural hash of the object.
+     *
+     * @param obj    Object to hash (can be null)
+     * @param depth  Comparison depth of the object (0 for the compared objects themselves)
+     * @param config Configuration for the comparison
+     * @return The structural hash of the object
+     */
+    static int hash(Object obj, int depth, EqualLibConfig config) {
+        return hash(obj, depth, DEFAULT_LEVELS, config);
+    }
+
+
+    /**
+     * Hash of an object compared by {@link EqualLib} as a pair (root object, collection elements and map entries).
+     */
+    private static int hash(Object obj, int depth, int levels, EqualLibConfig config) {
+        if (obj == null) {
+            return 0;
+        }
+
+        // Objects after the maximum depth are compared by equals or not at all
+        if (config.getMaxComparisonDepth() != -1 && depth >= config.getMaxComparisonDepth()) {
+            return config.isUseStandardEqualsAfterDepth() ? equalsHash(obj) : 0;
+        }
+
+        if (levels == 0) {
+            return 0;
+        }
+
+        Class<?> clazz = obj.getClass();
+        ComparisonPlan plan;
+        ComparisonPlan.FieldSlot[] slots;
+
+        // Wrappers and String are hashed by their own hash code, not as their topmost superclass (e.g. every number as Number)
+        if (EqualLib.isWrapperOrString(clazz)) {
+            return obj.hashCode();
+        }
+
+        if (config.isCompareInheritedFields()) {
+            // Constants of different enums are equal by their name and ordinal, so they are hashed without reading
+            // the fields of Enum (unless some of them are ignored)
+            if (obj instanceof Enum<?> constant && config.getIgnoredFieldPaths().isEmpty()) {
+                return 31 * constant.name().hashCode() + constant.ordinal();
+            }
+
+            // Only the fields of the topmost superclass are compared for every possible pair
+            plan = EqualLib.getPlan(rootType(clazz), config);
+            if (plan.getStrategy() == ComparisonPlan.Strategy.CUSTOM_EQUALS) {
+                return 0;
+            }
+            slots = plan.getStrategy() == ComparisonPlan.Strategy.FIELDS ? inheritedSlots(clazz, plan, config) : null;
+
+        } else {
+            // Different anonymous classes can be equal
+            if (clazz.isAnonymousClass()) {
+                return 0;
+            }
+            plan = EqualLib.getPlan(clazz, config);
+            slots = plan.getSlots();
+
+            // Classes with a comparator generated at compile time are hashed by it (they have no resolved fields)
+            DeepComparator<Object> generated = plan.getGeneratedComparator();
+            if (generated != null) {
+                return generated.hash(obj, value -> hashInline(value, depth + 1, levels - 1, config));
+            }
+        }
+
+        return switch (plan.getStrategy()) {
+            case CUSTOM_EQUALS -> 0;
+            case VALUE -> obj.hashCode();
+            case ARRAY -> hashArray(obj, depth, levels, config);
+            case COLLECTION -> hashCollection(obj, depth, levels, config);
+            default -> hashFields(obj, slots, depth, levels, config);
+        };
+    }
+
+
+    /**
+     * Hash of a value compared in place (field values and array elements): wrappers and String by their hash code.
+     */
+    private static int hashInline(Object value, int depth, int levels, EqualLibConfig config) {
+        if (value == null) {
+            return 0;
+        }
+        if (EqualLib.isWrapperOrString(value.getClass())) {
+            return value.hashCode();
+        }
+        return hash(value, depth, levels, config);
+    }
+
+
+    /**
+     * Hash of a value compared by its equals method.
+     * Only wrappers and String are hashed by their hash code, other classes are only required to implement equals
+     * (their hash code can be inconsistent with it), so they all have the same hash.
+     */
+    private static int equalsHash(Object value) {
+        return value != null && EqualLib.isWrapperOrString(value.getClass()) ? value.hashCode() : 0;
+    }
+
+
+    /**
+     * Hash of the compared fields of an object.
+     */
+    private static int hashFields(Object obj, ComparisonPlan.FieldSlot[] slots, int depth, int levels, EqualLibConfig config) {
+        int h = 1;
+        for (ComparisonPlan.FieldSlot slot : slots) {
+            FieldAccessor accessor = slot.accessor();
+            int fieldHash = switch (slot.kind()) {
+                case PRIMITIVE -> accessor.primitiveHash(obj);
+                case VALUE -> equalsHash(accessor.get(obj));
+                case IDENTITY -> System.identityHashCode(accessor.get(obj));
+                default -> hashInline(accessor.get(obj), depth + 1, levels - 1, config);
+            };
+            h = 31 * h + fieldHash;
+        }
+        return h;
+    }
+
+
+    /**
+     * Hash of an array (primitive arrays and arrays of wrappers are hashed completely).
+     */
+    private static int hashArray(Object array, int depth, int levels, EqualLibConfig config) {
+        if (array instanceof Object[] objects) {
+            if (EqualLib.isWrapperOrString(array.getClass().getComponentType())) {
+                return Arrays.hashCode(objects);
+            }
+            int h = objects.length;
+            for (int i = 0; i < Math.min(objects.length, MAX_ORDERED_ELEMENTS); i++) {
+                h = 31 * h + hashInline(objects[i], depth + 1, levels - 1, config);
+            }
+            return h;
+        }
+
+        if (array instanceof int[] a) return Arrays.hashCode(a);
+        if (array instanceof long[] a) return Arrays.hashCode(a);
+        if (array instanceof double[] a) return Arrays.hashCode(a);
+        if (array instanceof byte[] a) return Arrays.hashCode(a);
+        if (array instanceof char[] a) return Arrays.hashCode(a);
+        if (array instanceof float[] a) return Arrays.hashCode(a);
+        if (array instanceof short[] a) return Arrays.hashCode(a);
+        return Arrays.hashCode((boolean[]) array);
+    }
+
+
+    /**
+     * Hash of a collection or map compared by elements (sets and maps independently of the order).
+     */
+    private static int hashCollection(Object collection, int depth, int levels, EqualLibConfig config) {
+        if (collection instanceof List<?> list) {
+            int h = list.size();
+            int i = 0;
+            for (Object element : list) {
+                if (i++ == MAX_ORDERED_ELEMENTS) {
+                    break;
+                }
+                h = 31 * h + hash(element, depth + 1, levels - 1, config);
+            }
+            return h;
+        }
+
+        if (collection instanceof Set<?> set) {
+            if (set.size() > MAX_UNORDERED_ELEMENTS) {
+                return set.size();
+            }
+            int h = set.size();
+            for (Object element : set) {
+                h += hash(element, depth + 1, levels - 1, config);
+            }
+            return h;
+        }
+
+        if (collection instanceof Map<?, ?> map) {
+            if (map.size() > MAX_UNORDERED_ELEMENTS) {
+                return map.size();
+            }
+            int h = map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                h += 31 * hash(entry.getKey(), depth + 1, levels - 1, config) ^ hash(entry.getValue(), depth + 1, levels - 1, config);
+            }
+            return h;
+        }
+
+        return ((Collection<?>) collection).size();
+    }
+
+
+    /**
+     * Get the topmost superclass of the class (the class directly below Object).
+     *
+     * @param clazz The class
+     * @return The topmost superclass (the class itself if its superclass is Object)
+     */
+    private static Class<?> rootType(Class<?> clazz) {
+        while (clazz.getSuperclass() != null && clazz.getSuperclass() != Object.class) {
+            clazz = clazz.getSuperclass();
+        }
+        return clazz;
+    }
+
+
+    /**
+     * Get the fields hashed for the class when only inherited fields are compared.
+     * <p>
+     * A pair can be compared as any class between the class and its topmost superclass, so only the fields
+     * of the topmost superclass that are not ignored for any of these classes are used. If any of these classes
+     * is not compared field by field, no field is used.
+     * </p>
+     */
+    private static ComparisonPlan.FieldSlot[] inheritedSlots(Class<?> clazz, ComparisonPlan rootPlan, EqualLibConfig config) {
+        ComparisonPlan plan = EqualLib.getPlan(clazz, config);
+        ComparisonPlan.FieldSlot[] slots = plan.getInheritedHashSlots();
+        if (slots != null) {
+            return slots;
+        }
+
+        Class<?> root = rootPlan.getType();
+        slots = rootPlan.getSlots();
+
+        for (Class<?> c = clazz; c != root; c = c.getSuperclass()) {
+            if (EqualLib.getPlan(c, config).getStrategy() != ComparisonPlan.Strategy.FIELDS) {
+                slots = new ComparisonPlan.FieldSlot[0];
+                break;
+            }
+        }
+
+        if (slots.length > 0 && !config.getIgnoredFieldPaths().isEmpty()) {
+            slots = Arrays.stream(slots)
+                    .filter(slot -> {
+                        for (Class<?> c = clazz; c != root; c = c.getSuperclass()) {
+                            if (config.getIgnoredFieldPaths().contains(c.getName() + "." + slot.name())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    })
+                    .toArray(ComparisonPlan.FieldSlot[]::new);
+        }
+
+        plan.setInheritedHashSlots(slots);
+        return slots;
+    }
+}
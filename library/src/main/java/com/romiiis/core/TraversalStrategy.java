@@ -0,0 +1,32 @@
+package com.romiiis.core;
+
+/**
+ * Order in which the pairs of the object graphs are compared.
+ * <p>
+ * All strategies run in the same loop, they only differ in which end of the queue of pairs is taken next.
+ * The result of the comparison does not depend on the strategy.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLibConfig#setTraversalStrategy(TraversalStrategy)
+ */
+public enum TraversalStrategy {
+
+    /**
+     * Level by level (the oldest pair first). The queue grows with the width of the graph.
+     */
+    BREADTH_FIRST,
+
+    /**
+     * Branch by branch (the newest pair first). The queue grows with the depth of the graph,
+     * mismatches in deep leaves are found early.
+     */
+    DEPTH_FIRST,
+
+    /**
+     * Breadth first while the queue holds at most {@link EqualLibConfig#getHybridFrontierLimit()} pairs,
+     * depth first while it holds more. Mismatches near the root are found early and the queue stays bounded.
+     */
+    HYBRID
+}
@@ -0,0 +1,109 @@
+package com.romiiis.core;
+
+import com.romiiis.util.ConcurrentIdentityPairSet;
+import com.romiiis.util.IdentityPairSet;
+
+/**
+ * Pairs that are already compared (or being compared) in one comparison.
+ * <p>
+ * Nested comparisons (matching set elements and map keys) run in a child layer: they see the pairs of
+ * all parent layers, but their own pairs are added to the parent only when the nested comparison succeeds
+ * ({@link #commit()}). A failed candidate therefore never leaves pairs marked as visited.
+ * The root layer of a parallel comparison is shared by all threads (see {@link #shared(int)}),
+ * child layers are always used by one thread.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib
+ */
+final class VisitedPairs {
+
+    private final VisitedPairs parent;
+    private final IdentityPairSet pairs;
+    private final ConcurrentIdentityPairSet sharedPairs;
+
+
+    /**
+     * Constructor for the root layer.
+     */
+    VisitedPairs() {
+        this((VisitedPairs) null);
+    }
+
+    /**
+     * Constructor for a child layer.
+     *
+     * @param parent The parent layer (null for the root layer)
+     */
+    VisitedPairs(VisitedPairs parent) {
+        this.parent = parent;
+        this.pairs = new IdentityPairSet();
+        this.sharedPairs = null;
+    }
+
+    private VisitedPairs(ConcurrentIdentityPairSet sharedPairs) {
+        this.parent = null;
+        this.pairs = null;
+        this.sharedPairs = sharedPairs;
+    }
+
+
+    /**
+     * Create a thread-safe root layer for a parallel comparison.
+     *
+     * @param concurrency Expected number of threads using the layer
+     * @return The root layer
+     */
+    static VisitedPairs shared(int concurrency) {
+        return new VisitedPairs(new ConcurrentIdentityPairSet(concurrency));
+    }
+
+
+    /**
+     * Mark the pair as visited in this layer, unless it is already visited in this layer or in any parent layer.
+     *
+     * @param first  The first object
+     * @param second The second object
+     * @return true if the pair was not visited yet, false otherwise
+     */
+    boolean add(Object first, Object second) {
+        int hash = IdentityPairSet.hash(first, second);
+        for (VisitedPairs layer = parent; layer != null; layer = layer.parent) {
+            if (layer.contains(first, second, hash)) {
+                return false;
+            }
+        }
+        return sharedPairs != null ? sharedPairs.add(first, second, hash) : pairs.add(first, second, hash);
+    }
+
+    /**
+     * Move the pairs of this layer to the parent layer (the nested comparison succeeded).
+     */
+    void commit() {
+        if (parent != null) {
+            if (parent.sharedPairs != null) {
+                parent.sharedPairs.addAll(pairs);
+            } else {
+                parent.pairs.addAll(pairs);
+            }
+        }
+    }
+
+    /**
+     * Remove all pairs of this layer (the layer is reused for the next comparison).
+     *
+     * @param maxRetainedCapacity Maximum number of slots kept for the next use
+     */
+    void reset(int maxRetainedCapacity) {
+        pairs.reset(maxRetainedCapacity);
+    }
+
+
+    /**
+     * Check if the pair is visited in this layer.
+     */
+    private boolean contains(Object first, Object second, int hash) {
+        return sharedPairs != null ? sharedPairs.contains(first, second, hash) : pairs.contains(first, second, hash);
+    }
+}
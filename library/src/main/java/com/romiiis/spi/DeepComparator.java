@@ -0,0 +1,85 @@
+package com.romiiis.spi;
+
+/**
+ * Comparator of the fields of one class, used by EqualLib instead of reflection.
+ * <p>
+ * Implementations are usually generated at compile time for classes annotated by
+ * {@link com.romiiis.annotation.DeepEquatable} and found by {@link java.util.ServiceLoader}
+ * (listed in {@code META-INF/services/com.romiiis.spi.DeepComparator} or provided by a module).
+ * The comparator compares the primitive and value fields itself and passes every other referenced pair
+ * to the {@link Deferred} of the comparison, so cycles, the maximum depth and the traversal order
+ * are still handled by EqualLib.
+ * </p>
+ * <p>
+ * The comparator is used only when the configuration does not change how the class is compared
+ * (no ignored field paths of the class and no custom equals for it). The fields of such class are never read
+ * by reflection, so its package does not have to be opened to EqualLib.
+ * </p>
+ *
+ * @param <T> The compared class.
+ * @author Roman Pejs
+ * @version 1.0
+ */
+public interface DeepComparator<T> {
+
+    /**
+     * Get the compared class (the comparator is used only for instances of exactly this class).
+     *
+     * @return The compared class.
+     */
+    Class<T> getType();
+
+    /**
+     * Compare the fields of two instances of the class.
+     *
+     * @param first    The first object (not null).
+     * @param second   The second object (not null).
+     * @param deferred Receiver of the referenced pairs that are compared deeply later.
+     * @return false if any field differs, true otherwise (the deferred pairs can still differ).
+     */
+    boolean compare(T first, T second, Deferred deferred);
+
+    /**
+     * Compute the hash of an instance of the class, consistent with {@link #compare(Object, Object, Deferred)}
+     * (used by {@code EqualLib.deepHashCode} and by the hash-based matching of set elements and map keys).
+     * The default hash is the same for all instances, which is always consistent, but all instances then collide.
+     *
+     * @param obj    The object (not null).
+     * @param hasher Hash of the referenced objects that are passed to the {@link Deferred} by the comparison.
+     * @return The hash of the object.
+     */
+    default int hash(T obj, Hasher hasher) {
+        return 0;
+    }
+
+
+    /**
+     * Receiver of the pairs of referenced objects compared deeply by EqualLib.
+     */
+    @FunctionalInterface
+    interface Deferred {
+
+        /**
+         * Compare the objects deeply (after the current pair).
+         *
+         * @param first  The first referenced object (can be null).
+         * @param second The second referenced object (can be null).
+         */
+        void compareDeeply(Object first, Object second);
+    }
+
+    /**
+     * Hash of the referenced objects computed by EqualLib.
+     */
+    @FunctionalInterface
+    interface Hasher {
+
+        /**
+         * Compute the deep hash of the object (with the configuration of the comparison).
+         *
+         * @param obj The referenced object (can be null).
+         * @return The hash of the object.
+         */
+        int hashDeeply(Object obj);
+    }
+}
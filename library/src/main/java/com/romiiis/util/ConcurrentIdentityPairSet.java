@@ -0,0 +1,105 @@
+package com.romiiis.util;
+
+import com.romiiis.core.EqualLib;
+
+/**
+ * A thread-safe set of pairs of objects compared by identity.
+ * <p>
+ * The pairs are split by their hash into stripes, every stripe is an {@link IdentityPairSet} guarded by its own lock,
+ * so threads adding different pairs rarely wait for each other.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see IdentityPairSet
+ * @see EqualLib
+ */
+public class ConcurrentIdentityPairSet {
+
+    private final IdentityPairSet[] stripes;
+    private final int shift;
+
+
+    /**
+     * Constructor for the ConcurrentIdentityPairSet class.
+     *
+     * @param concurrency Expected number of threads using the set.
+     */
+    public ConcurrentIdentityPairSet(int concurrency) {
+        int count = 1;
+        while (count < concurrency * 4 && count < (1 << 16)) {
+            count <<= 1;
+        }
+        stripes = new IdentityPairSet[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new IdentityPairSet();
+        }
+        shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+
+    /**
+     * Add the pair with an already computed hash to the set.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @param hash   The hash of the pair (see {@link IdentityPairSet#hash(Object, Object)}).
+     * @return True if the pair was added, false if it is already in the set.
+     */
+    public boolean add(Object first, Object second, int hash) {
+        IdentityPairSet stripe = stripeFor(hash);
+        synchronized (stripe) {
+            return stripe.add(first, second, hash);
+        }
+    }
+
+    /**
+     * Check if the pair with an already computed hash is in the set.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @param hash   The hash of the pair (see {@link IdentityPairSet#hash(Object, Object)}).
+     * @return True if the pair is in the set, false otherwise.
+     */
+    public boolean contains(Object first, Object second, int hash) {
+        IdentityPairSet stripe = stripeFor(hash);
+        synchronized (stripe) {
+            return stripe.contains(first, second, hash);
+        }
+    }
+
+    /**
+     * Add all pairs of the other set to this set.
+     *
+     * @param other The set to add.
+     */
+    public void addAll(IdentityPairSet other) {
+        other.addAllTo(this);
+    }
+
+    /**
+     * Get the number of pairs in the set.
+     *
+     * @return The number of pairs.
+     */
+    public int size() {
+        int size = 0;
+        for (IdentityPairSet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+
+    /**
+     * Get the stripe of the pair (by the high bits of the hash, the low bits select the slot in the stripe).
+     *
+     * @param hash The hash of the pair.
+     * @return The stripe.
+     */
+    private IdentityPairSet stripeFor(int hash) {
+        return shift == 32 ? stripes[0] : stripes[(hash * 0x9E3779B9) >>> shift];
+    }
+}
@@ -0,0 +1,408 @@
+package com.romiiis.util;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+
+import java.lang.reflect.Array;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A hash map whose keys are compared by deep equality instead of their own equals and hashCode.
+ * <p>
+ * Keys are equal if {@link EqualLib#areEqual(Object, Object, EqualLibConfig)} says so, they are hashed by
+ * {@link EqualLib#deepHashCode(Object, EqualLibConfig)}. The hash of every key is computed once and cached in its entry,
+ * so a lookup hashes only the searched key and deeply compares it only with the keys of the same hash.
+ * The keys must not change while they are in the map. The map is not thread-safe.
+ * </p>
+ *
+ * @param <K> Type of the keys.
+ * @param <V> Type of the values.
+ * @author Roman Pejs
+ * @version 1.0
+ * @see DeepHashSet
+ * @see EqualLib
+ */
+public class DeepHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final EqualLibConfig config;
+    private Node[] table;
+    private int size;
+    private int threshold;
+    private int modCount;
+    private Set<Map.Entry<K, V>> entrySet;
+
+
+    /**
+     * Constructor for the DeepHashMap class with the default configuration.
+     */
+    public DeepHashMap() {
+        this(new EqualLibConfig());
+    }
+
+    /**
+     * Constructor for the DeepHashMap class.
+     *
+     * @param config Configuration of the deep equality of the keys.
+     */
+    public DeepHashMap(EqualLibConfig config) {
+        this(config, DEFAULT_CAPACITY / 2);
+    }
+
+    /**
+     * Constructor for the DeepHashMap class.
+     *
+     * @param config       Configuration of the deep equality of the keys.
+     * @param expectedSize Expected number of entries.
+     */
+    public DeepHashMap(EqualLibConfig config, int expectedSize) {
+        if (config == null) {
+            throw new IllegalArgumentException("config must not be null");
+        }
+        this.config = config;
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Constructor for the DeepHashMap class with the entries of another map.
+     *
+     * @param config Configuration of the deep equality of the keys.
+     * @param map    The entries to put into the map.
+     */
+    public DeepHashMap(EqualLibConfig config, Map<? extends K, ? extends V> map) {
+        this(config, map.size());
+        putAll(map);
+    }
+
+
+    /**
+     * Get the configuration of the deep equality of the keys.
+     *
+     * @return The configuration.
+     */
+    public EqualLibConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findNode(key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int hash = EqualLib.deepHashCode(key, config);
+        int index = indexFor(hash, table.length);
+        for (Node node = table[index]; node != null; node = node.next) {
+            if (matches(node, key, hash)) {
+                V old = node.value;
+                node.value = value;
+                return old;
+            }
+        }
+
+        table[index] = new Node(hash, key, value, table[index]);
+        modCount++;
+        if (++size > threshold) {
+            allocate(table.length * 2);
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node node = removeNode(key, EqualLib.deepHashCode(key, config));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(table, null);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = entrySet;
+        if (entries == null) {
+            entries = new EntrySet();
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+
+    /**
+     * Get the sum of the cached deep hashes of the keys (the hash of the set of the keys).
+     *
+     * @return The sum of the hashes.
+     */
+    int keysHashCode() {
+        int hash = 0;
+        for (Node head : table) {
+            for (Node node = head; node != null; node = node.next) {
+                hash += node.hash;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Find the entry of the key.
+     *
+     * @param key The key.
+     * @return The entry, null if the key is not in the map.
+     */
+    private Node findNode(Object key) {
+        int hash = EqualLib.deepHashCode(key, config);
+        for (Node node = table[indexFor(hash, table.length)]; node != null; node = node.next) {
+            if (matches(node, key, hash)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove the entry of the key.
+     *
+     * @param key  The key.
+     * @param hash The deep hash of the key.
+     * @return The removed entry, null if the key is not in the map.
+     */
+    private Node removeNode(Object key, int hash) {
+        int index = indexFor(hash, table.length);
+        Node previous = null;
+        for (Node node = table[index]; node != null; previous = node, node = node.next) {
+            if (matches(node, key, hash)) {
+                if (previous == null) {
+                    table[index] = node.next;
+                } else {
+                    previous.next = node.next;
+                }
+                size--;
+                modCount++;
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if the entry has the key (by the cached hash first, then by deep equality).
+     */
+    private boolean matches(Node node, Object key, int hash) {
+        return node.hash == hash && (node.key == key || EqualLib.areEqual(node.key, key, config));
+    }
+
+    /**
+     * Allocate the table with the capacity and move the entries to it (the cached hashes are reused).
+     *
+     * @param capacity The capacity (power of two).
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        Node[] old = table;
+        table = (Node[]) Array.newInstance(Node.class, capacity);
+        threshold = capacity / 4 * 3;
+
+        if (old != null) {
+            for (Node head : old) {
+                for (Node node = head; node != null; ) {
+                    Node next = node.next;
+                    int index = indexFor(node.hash, capacity);
+                    node.next = table[index];
+                    table[index] = node;
+                    node = next;
+                }
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int indexFor(int hash, int capacity) {
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+
+
+    /**
+     * Entry of the map with the cached deep hash of its key.
+     * Entries are equal if their keys are deeply equal and their values are equal, the hash of the entry
+     * is the deep hash of the key combined with the hash of the value.
+     */
+    private final class Node implements Map.Entry<K, V> {
+        private final int hash;
+        private final K key;
+        private V value;
+        private Node next;
+
+        Node(int hash, K key, V value, Node next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(value, e.getValue())
+                    && matches(this, e.getKey(), EqualLib.deepHashCode(e.getKey(), config));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * View of the entries of the map.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            DeepHashMap.this.clear();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return findEntry(o) != null;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            Node node = findEntry(o);
+            if (node == null) {
+                return false;
+            }
+            removeNode(node.key, node.hash);
+            return true;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        /**
+         * Find the entry with the key (deeply equal) and the value (equal) of the entry.
+         */
+        private Node findEntry(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> e)) {
+                return null;
+            }
+            Node node = findNode(e.getKey());
+            return node != null && Objects.equals(node.value, e.getValue()) ? node : null;
+        }
+    }
+
+    /**
+     * Iterator over the entries of the map (fails fast when the map is changed by other means than the iterator).
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int index;
+        private Node next;
+        private Node current;
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            advance(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            advance(next.next);
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeNode(current.key, current.hash);
+            expectedModCount = modCount;
+            current = null;
+        }
+
+        private void advance(Node node) {
+            while (node == null && index < table.length) {
+                node = table[index++];
+            }
+            next = node;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.romiiis.util;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A hash set whose elements are compared by deep equality instead of their own equals and hashCode.
+ * <p>
+ * The set is backed by a {@link DeepHashMap}, so the deep hash of every element is cached and the elements
+ * must not change while they are in the set. The hash code of the set is the sum of the deep hashes of its elements.
+ * The set is not thread-safe.
+ * </p>
+ *
+ * @param <E> Type of the elements.
+ * @author Roman Pejs
+ * @version 1.0
+ * @see DeepHashMap
+ * @see EqualLib
+ */
+public class DeepHashSet<E> extends AbstractSet<E> {
+
+    private final DeepHashMap<E, Boolean> map;
+
+
+    /**
+     * Constructor for the DeepHashSet class with the default configuration.
+     */
+    public DeepHashSet() {
+        this(new EqualLibConfig());
+    }
+
+    /**
+     * Constructor for the DeepHashSet class.
+     *
+     * @param config Configuration of the deep equality of the elements.
+     */
+    public DeepHashSet(EqualLibConfig config) {
+        map = new DeepHashMap<>(config);
+    }
+
+    /**
+     * Constructor for the DeepHashSet class with the elements of a collection.
+     *
+     * @param config   Configuration of the deep equality of the elements.
+     * @param elements The elements to add to the set.
+     */
+    public DeepHashSet(EqualLibConfig config, Collection<? extends E> elements) {
+        map = new DeepHashMap<>(config, elements.size());
+        addAll(elements);
+    }
+
+
+    /**
+     * Get the configuration of the deep equality of the elements.
+     *
+     * @return The configuration.
+     */
+    public EqualLibConfig getConfig() {
+        return map.getConfig();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public boolean add(E e) {
+        return map.put(e, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return map.remove(o) != null;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public int hashCode() {
+        return map.keysHashCode();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keySet().iterator();
+    }
+}
@@ -0,0 +1,187 @@
+package com.romiiis.util;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An interner returning one canonical instance for all deeply equal objects.
+ * <p>
+ * Objects are deeply equal if {@link EqualLib#areEqual(Object, Object, EqualLibConfig)} says so, they are found by
+ * {@link EqualLib#deepHashCode(Object, EqualLibConfig)}. The canonical instances are referenced weakly, so a canonical
+ * instance that is not used anymore is collected and removed from the interner. The buckets are split by the hash
+ * into stripes, every stripe is guarded by its own lock, so threads interning different objects rarely wait for each other.
+ * </p>
+ * <p>
+ * The interned objects must not change after they are interned (the canonical instance is shared by all users).
+ * </p>
+ *
+ * @param <T> Type of the interned objects.
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib
+ */
+public class DeepInterner<T> {
+
+    private final EqualLibConfig config;
+    private final Stripe<T>[] stripes;
+    private final int shift;
+    private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+
+    /**
+     * Constructor for the DeepInterner class with the default configuration.
+     */
+    public DeepInterner() {
+        this(new EqualLibConfig());
+    }
+
+    /**
+     * Constructor for the DeepInterner class.
+     *
+     * @param config Configuration of the deep equality.
+     */
+    public DeepInterner(EqualLibConfig config) {
+        this(config, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the DeepInterner class.
+     *
+     * @param config      Configuration of the deep equality.
+     * @param concurrency Expected number of threads using the interner.
+     */
+    @SuppressWarnings("unchecked")
+    public DeepInterner(EqualLibConfig config, int concurrency) {
+        if (config == null) {
+            throw new IllegalArgumentException("config must not be null");
+        }
+        this.config = config;
+
+        int count = 1;
+        while (count < concurrency * 4 && count < (1 << 16)) {
+            count <<= 1;
+        }
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+
+    /**
+     * Get the canonical instance of the object.
+     * If no deeply equal object is interned yet, the object itself becomes the canonical instance.
+     *
+     * @param obj The object (can be null).
+     * @return The canonical instance deeply equal to the object (null for null).
+     */
+    public T intern(T obj) {
+        if (obj == null) {
+            return null;
+        }
+        expungeCollected();
+
+        int hash = EqualLib.deepHashCode(obj, config);
+        Stripe<T> stripe = stripeFor(hash);
+        synchronized (stripe) {
+            List<Canonical<T>> bucket = stripe.buckets.computeIfAbsent(hash, k -> new ArrayList<>(1));
+            for (Canonical<T> canonical : bucket) {
+                T candidate = canonical.get();
+                if (candidate != null && EqualLib.areEqual(candidate, obj, config)) {
+                    return candidate;
+                }
+            }
+            bucket.add(new Canonical<>(obj, hash, collected));
+            stripe.size++;
+            return obj;
+        }
+    }
+
+    /**
+     * Get the number of canonical instances.
+     *
+     * @return The number of canonical instances (including collected instances not removed yet).
+     */
+    public int size() {
+        expungeCollected();
+
+        int size = 0;
+        for (Stripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Remove all canonical instances.
+     */
+    public void clear() {
+        for (Stripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.buckets.clear();
+                stripe.size = 0;
+            }
+        }
+    }
+
+
+    /**
+     * Remove the canonical instances that were collected.
+     */
+    private void expungeCollected() {
+        for (Object ref; (ref = collected.poll()) != null; ) {
+            Canonical<?> canonical = (Canonical<?>) ref;
+            Stripe<T> stripe = stripeFor(canonical.hash);
+            synchronized (stripe) {
+                List<Canonical<T>> bucket = stripe.buckets.get(canonical.hash);
+                if (bucket != null && bucket.remove(canonical)) {
+                    stripe.size--;
+                    if (bucket.isEmpty()) {
+                        stripe.buckets.remove(canonical.hash);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the stripe of the hash.
+     *
+     * @param hash The deep hash of the object.
+     * @return The stripe.
+     */
+    private Stripe<T> stripeFor(int hash) {
+        return shift == 32 ? stripes[0] : stripes[(hash * 0x9E3779B9) >>> shift];
+    }
+
+
+    /**
+     * Buckets of canonical instances with hashes of one stripe.
+     */
+    private static final class Stripe<T> {
+        private final Map<Integer, List<Canonical<T>>> buckets = new HashMap<>();
+        private int size;
+    }
+
+    /**
+     * Weak reference to a canonical instance.
+     */
+    private static final class Canonical<T> extends WeakReference<T> {
+        private final int hash;
+
+        Canonical(T referent, int hash, ReferenceQueue<T> queue) {
+            super(referent, queue);
+            this.hash = hash;
+        }
+    }
+}
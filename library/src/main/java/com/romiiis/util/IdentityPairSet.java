@@ -0,0 +1,274 @@
+package com.romiiis.util;
+
+import com.romiiis.core.EqualLib;
+
+import java.util.Arrays;
+
+/**
+ * A set of pairs of objects compared by identity (same as {@link Pair#equals(Object)}).
+ * <p>
+ * The set uses open addressing with linear probing. The pairs are stored in parallel arrays together
+ * with their cached identity hash, so adding a pair does not allocate anything (only growing the arrays does).
+ * The set can be cleared and reused, {@link #reset(int)} also shrinks the arrays after a big comparison.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib
+ */
+public class IdentityPairSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Stored instead of null, because null marks an empty slot
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] firsts;
+    private Object[] seconds;
+    private int[] hashes;
+    private int size;
+    private int threshold;
+
+
+    /**
+     * Constructor for the IdentityPairSet class with the default capacity.
+     */
+    public IdentityPairSet() {
+        this(DEFAULT_CAPACITY / 2);
+    }
+
+    /**
+     * Constructor for the IdentityPairSet class.
+     *
+     * @param expectedSize Expected number of pairs.
+     */
+    public IdentityPairSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+
+    /**
+     * Hash of the pair based on the identity of both objects.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @return The hash of the pair.
+     */
+    public static int hash(Object first, Object second) {
+        int h = 31 * System.identityHashCode(first) + System.identityHashCode(second);
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * Add the pair to the set.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @return True if the pair was added, false if it is already in the set.
+     */
+    public boolean add(Object first, Object second) {
+        return add(first, second, hash(first, second));
+    }
+
+    /**
+     * Add the pair with an already computed hash to the set.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @param hash   The hash of the pair (see {@link #hash(Object, Object)}).
+     * @return True if the pair was added, false if it is already in the set.
+     */
+    public boolean add(Object first, Object second, int hash) {
+        first = first == null ? NULL_KEY : first;
+        int mask = firsts.length - 1;
+        int i = hash & mask;
+
+        while (firsts[i] != null) {
+            if (hashes[i] == hash && firsts[i] == first && seconds[i] == second) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        firsts[i] = first;
+        seconds[i] = second;
+        hashes[i] = hash;
+
+        if (++size > threshold) {
+            grow();
+        }
+        return true;
+    }
+
+
+    /**
+     * Check if the pair is in the set.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @return True if the pair is in the set, false otherwise.
+     */
+    public boolean contains(Object first, Object second) {
+        return contains(first, second, hash(first, second));
+    }
+
+    /**
+     * Check if the pair with an already computed hash is in the set.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @param hash   The hash of the pair (see {@link #hash(Object, Object)}).
+     * @return True if the pair is in the set, false otherwise.
+     */
+    public boolean contains(Object first, Object second, int hash) {
+        first = first == null ? NULL_KEY : first;
+        int mask = firsts.length - 1;
+        int i = hash & mask;
+
+        while (firsts[i] != null) {
+            if (hashes[i] == hash && firsts[i] == first && seconds[i] == second) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+
+    /**
+     * Add all pairs of the other set to this set.
+     *
+     * @param other The set to add.
+     */
+    public void addAll(IdentityPairSet other) {
+        for (int i = 0; i < other.firsts.length; i++) {
+            Object first = other.firsts[i];
+            if (first != null) {
+                add(first == NULL_KEY ? null : first, other.seconds[i], other.hashes[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Add all pairs of this set to the concurrent set.
+     *
+     * @param target The set to add the pairs to.
+     */
+    void addAllTo(ConcurrentIdentityPairSet target) {
+        for (int i = 0; i < firsts.length; i++) {
+            Object first = firsts[i];
+            if (first != null) {
+                target.add(first == NULL_KEY ? null : first, seconds[i], hashes[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of pairs in the set.
+     *
+     * @return The number of pairs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the set is empty.
+     *
+     * @return True if the set contains no pair, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Remove all pairs from the set (the arrays are kept for the next use).
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(firsts, null);
+            Arrays.fill(seconds, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Remove all pairs from the set and shrink the arrays if they are bigger than the retained capacity.
+     *
+     * @param maxRetainedCapacity Maximum number of slots kept for the next use.
+     */
+    public void reset(int maxRetainedCapacity) {
+        if (firsts.length > maxRetainedCapacity) {
+            allocate(DEFAULT_CAPACITY);
+            size = 0;
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * Get the number of slots of the set.
+     *
+     * @return The number of slots.
+     */
+    public int capacity() {
+        return firsts.length;
+    }
+
+
+    /**
+     * Double the size of the arrays and move the pairs to their new slots.
+     */
+    private void grow() {
+        Object[] oldFirsts = firsts;
+        Object[] oldSeconds = seconds;
+        int[] oldHashes = hashes;
+
+        allocate(oldFirsts.length * 2);
+        int mask = firsts.length - 1;
+
+        for (int j = 0; j < oldFirsts.length; j++) {
+            if (oldFirsts[j] != null) {
+                int i = oldHashes[j] & mask;
+                while (firsts[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                firsts[i] = oldFirsts[j];
+                seconds[i] = oldSeconds[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+    }
+
+    /**
+     * Allocate the arrays (the load factor is 0.5).
+     *
+     * @param capacity Number of slots (power of two).
+     */
+    private void allocate(int capacity) {
+        firsts = new Object[capacity];
+        seconds = new Object[capacity];
+        hashes = new int[capacity];
+        threshold = capacity / 2;
+    }
+
+    /**
+     * Get the number of slots (power of two) for the expected number of pairs.
+     *
+     * @param expectedSize Expected number of pairs.
+     * @return Number of slots.
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity / 2 < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,58 @@
+package com.romiiis.util;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Build-time generator of the class metadata for a GraalVM native image.
+ * <p>
+ * Called by the build (e.g. from a test or an exec plugin) with the root classes, it walks the classes reachable
+ * from the roots and writes {@value #REFLECT_CONFIG} (passed to native-image, e.g. in {@code META-INF/native-image})
+ * and {@value #METADATA} (loaded at runtime by {@link EqualLib#loadMetadata(Path, EqualLibConfig)}
+ * with {@link EqualLibConfig#setPrecomputedMetadataOnly(boolean)}).
+ * The files do not depend on the classes compared or resolved so far.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib#writeReflectConfig(Path, EqualLibConfig, Class[])
+ * @see EqualLib#saveMetadata(Path, EqualLibConfig, Class[])
+ */
+public final class MetadataGenerator {
+
+    /**
+     * Name of the written reflection configuration
+     */
+    public static final String REFLECT_CONFIG = "reflect-config.json";
+
+    /**
+     * Name of the written metadata file
+     */
+    public static final String METADATA = "equallib.metadata";
+
+
+    private MetadataGenerator() {
+    }
+
+
+    /**
+     * Generate the metadata of the root classes into the directory.
+     *
+     * @param directory Output directory (created if it does not exist)
+     * @param config    Configuration the metadata is generated for (null for the default configuration)
+     * @param roots     Classes to start from
+     * @return Number of classes in the reflection configuration
+     * @throws IOException                                  If the files cannot be written
+     * @throws java.lang.reflect.InaccessibleObjectException If the package of a class compared by reflection is not open
+     */
+    public static int generate(Path directory, EqualLibConfig config, Class<?>... roots) throws IOException {
+        Files.createDirectories(directory);
+        int classes = EqualLib.writeReflectConfig(directory.resolve(REFLECT_CONFIG), config, roots);
+        EqualLib.saveMetadata(directory.resolve(METADATA), config, roots);
+        return classes;
+    }
+}
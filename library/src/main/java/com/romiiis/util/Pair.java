@@ -83,9 +83,24 @@ public class Pair {
         if (isNullPresent(pair)) {
             return null;
         }
+        return getCommonType(pair.first, pair.second, equalitySuperclass);
+    }
+
+    /**
+     * Checks if both objects are of the same type.
+     *
+     * @param first              The first object.
+     * @param second             The second object.
+     * @param equalitySuperclass If true, the common superclass of the two objects is returned. If false, the objects must be of the same type.
+     * @return The common class type if both objects are of the same type, null otherwise.
+     */
+    public static Class<?> getCommonType(Object first, Object second, boolean equalitySuperclass) {
+        if (first == null || second == null) {
+            return null;
+        }
 
-        Class<?> class1 = pair.first.getClass();
-        Class<?> class2 = pair.second.getClass();
+        Class<?> class1 = first.getClass();
+        Class<?> class2 = second.getClass();
 
 
         if (equalitySuperclass) {
@@ -167,7 +182,21 @@ public class Pair {
         if (isNullPresent(pair)) {
             return null;
         }
-        return pair.first.getClass().isAnonymousClass() && pair.second.getClass().isAnonymousClass() ? pair.first.getClass() : null;
+        return getAnonymousClassType(pair.first, pair.second);
+    }
+
+    /**
+     * Determines if both objects are instances of anonymous classes.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @return The class type if both objects are anonymous classes, null otherwise.
+     */
+    public static Class<?> getAnonymousClassType(Object first, Object second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        return first.getClass().isAnonymousClass() && second.getClass().isAnonymousClass() ? first.getClass() : null;
     }
 
 
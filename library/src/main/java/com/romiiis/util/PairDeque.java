@@ -0,0 +1,268 @@
+package com.romiiis.util;
+
+import com.romiiis.core.EqualLib;
+
+import java.util.Arrays;
+
+/**
+ * A double-ended queue of pairs of objects with their comparison depth.
+ * <p>
+ * The queue is a growable ring buffer: the first objects, the second objects and the depths are stored
+ * in parallel arrays, so adding and removing a pair does not allocate anything (only growing the arrays does).
+ * A removed pair is not returned as an object, its values are available by {@link #first()}, {@link #second()}
+ * and {@link #depth()} until the next pair is removed.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ * @see EqualLib
+ */
+public class PairDeque {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] firsts;
+    private Object[] seconds;
+    private int[] depths;
+    private int head;
+    private int size;
+
+    private Object first;
+    private Object second;
+    private int depth;
+
+
+    /**
+     * Constructor for the PairDeque class with the default capacity.
+     */
+    public PairDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for the PairDeque class.
+     *
+     * @param expectedSize Expected number of pairs.
+     */
+    public PairDeque(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+
+    /**
+     * Add the pair to the end of the queue.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @param depth  The depth of the comparison.
+     */
+    public void addLast(Object first, Object second, int depth) {
+        if (size == firsts.length) {
+            grow();
+        }
+        int i = (head + size) & (firsts.length - 1);
+        firsts[i] = first;
+        seconds[i] = second;
+        depths[i] = depth;
+        size++;
+    }
+
+    /**
+     * Add the pair to the start of the queue.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @param depth  The depth of the comparison.
+     */
+    public void addFirst(Object first, Object second, int depth) {
+        if (size == firsts.length) {
+            grow();
+        }
+        head = (head - 1) & (firsts.length - 1);
+        firsts[head] = first;
+        seconds[head] = second;
+        depths[head] = depth;
+        size++;
+    }
+
+
+    /**
+     * Remove the pair from the start of the queue.
+     * The values of the removed pair are available by {@link #first()}, {@link #second()} and {@link #depth()}.
+     *
+     * @return True if a pair was removed, false if the queue is empty.
+     */
+    public boolean pollFirst() {
+        if (size == 0) {
+            return false;
+        }
+        take(head);
+        head = (head + 1) & (firsts.length - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Remove the pair from the end of the queue.
+     * The values of the removed pair are available by {@link #first()}, {@link #second()} and {@link #depth()}.
+     *
+     * @return True if a pair was removed, false if the queue is empty.
+     */
+    public boolean pollLast() {
+        if (size == 0) {
+            return false;
+        }
+        take((head + size - 1) & (firsts.length - 1));
+        size--;
+        return true;
+    }
+
+
+    /**
+     * Get the first object of the last removed pair.
+     *
+     * @return The first object.
+     */
+    public Object first() {
+        return first;
+    }
+
+    /**
+     * Get the second object of the last removed pair.
+     *
+     * @return The second object.
+     */
+    public Object second() {
+        return second;
+    }
+
+    /**
+     * Get the depth of the last removed pair.
+     *
+     * @return The depth of the comparison.
+     */
+    public int depth() {
+        return depth;
+    }
+
+
+    /**
+     * Get the number of pairs in the queue.
+     *
+     * @return The number of pairs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the queue is empty.
+     *
+     * @return True if the queue contains no pair, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Remove all pairs from the queue (the arrays are kept for the next use).
+     */
+    public void clear() {
+        // Removed pairs are released when they are taken, so only a non-empty queue has references left
+        if (size > 0) {
+            Arrays.fill(firsts, null);
+            Arrays.fill(seconds, null);
+        }
+        head = 0;
+        size = 0;
+        first = null;
+        second = null;
+    }
+
+    /**
+     * Remove all pairs from the queue and shrink the arrays if they are bigger than the retained capacity.
+     *
+     * @param maxRetainedCapacity Maximum number of slots kept for the next use.
+     */
+    public void reset(int maxRetainedCapacity) {
+        if (firsts.length > maxRetainedCapacity) {
+            allocate(DEFAULT_CAPACITY);
+            head = 0;
+            size = 0;
+            first = null;
+            second = null;
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * Get the number of slots of the queue.
+     *
+     * @return The number of slots.
+     */
+    public int capacity() {
+        return firsts.length;
+    }
+
+
+    /**
+     * Move the values of the slot to the removed pair and release the references of the slot.
+     *
+     * @param i Index of the slot.
+     */
+    private void take(int i) {
+        first = firsts[i];
+        second = seconds[i];
+        depth = depths[i];
+        firsts[i] = null;
+        seconds[i] = null;
+    }
+
+    /**
+     * Double the size of the arrays and move the pairs to the start of the new arrays.
+     */
+    private void grow() {
+        Object[] oldFirsts = firsts;
+        Object[] oldSeconds = seconds;
+        int[] oldDepths = depths;
+
+        allocate(oldFirsts.length * 2);
+
+        // The pairs from the head to the end of the old arrays, then the wrapped pairs
+        int tail = oldFirsts.length - head;
+        System.arraycopy(oldFirsts, head, firsts, 0, tail);
+        System.arraycopy(oldSeconds, head, seconds, 0, tail);
+        System.arraycopy(oldDepths, head, depths, 0, tail);
+        System.arraycopy(oldFirsts, 0, firsts, tail, head);
+        System.arraycopy(oldSeconds, 0, seconds, tail, head);
+        System.arraycopy(oldDepths, 0, depths, tail, head);
+        head = 0;
+    }
+
+    /**
+     * Allocate the arrays.
+     *
+     * @param capacity Number of slots (power of two).
+     */
+    private void allocate(int capacity) {
+        firsts = new Object[capacity];
+        seconds = new Object[capacity];
+        depths = new int[capacity];
+    }
+
+    /**
+     * Get the number of slots (power of two) for the expected number of pairs.
+     *
+     * @param expectedSize Expected number of pairs.
+     * @return Number of slots.
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
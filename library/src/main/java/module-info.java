@@ -3,8 +3,13 @@
  * @author Romiiis
  */
 module EqualLib {
+    exports com.romiiis.annotation;
     exports com.romiiis.core;
+    exports com.romiiis.spi;
+    exports com.romiiis.util;
 
     opens com.romiiis.core;
     opens com.romiiis.util;
+
+    uses com.romiiis.spi.DeepComparator;
 }
\ No newline at end of file
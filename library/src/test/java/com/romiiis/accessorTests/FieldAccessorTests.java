@@ -0,0 +1,70 @@
+package com.romiiis.accessorTests;
+
+import com.romiiis.core.EqualLib;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FieldAccessorTests {
+
+    private static Measurement measurement() {
+        return new Measurement(Integer.MIN_VALUE, Long.MAX_VALUE, Short.MAX_VALUE, Byte.MIN_VALUE, 'K', true, 1.5f, 20.25);
+    }
+
+    @DisplayName("Private primitive fields of every type")
+    @Test
+    void test1() {
+        assertTrue(EqualLib.areEqual(measurement(), measurement()));
+        assertEquals(EqualLib.deepHashCode(measurement()), EqualLib.deepHashCode(measurement()));
+
+        List<Measurement> changed = List.of(
+                new Measurement(0, Long.MAX_VALUE, Short.MAX_VALUE, Byte.MIN_VALUE, 'K', true, 1.5f, 20.25),
+                new Measurement(Integer.MIN_VALUE, 0, Short.MAX_VALUE, Byte.MIN_VALUE, 'K', true, 1.5f, 20.25),
+                new Measurement(Integer.MIN_VALUE, Long.MAX_VALUE, (short) 0, Byte.MIN_VALUE, 'K', true, 1.5f, 20.25),
+                new Measurement(Integer.MIN_VALUE, Long.MAX_VALUE, Short.MAX_VALUE, (byte) 0, 'K', true, 1.5f, 20.25),
+                new Measurement(Integer.MIN_VALUE, Long.MAX_VALUE, Short.MAX_VALUE, Byte.MIN_VALUE, 'C', true, 1.5f, 20.25),
+                new Measurement(Integer.MIN_VALUE, Long.MAX_VALUE, Short.MAX_VALUE, Byte.MIN_VALUE, 'K', false, 1.5f, 20.25),
+                new Measurement(Integer.MIN_VALUE, Long.MAX_VALUE, Short.MAX_VALUE, Byte.MIN_VALUE, 'K', true, 2.5f, 20.25),
+                new Measurement(Integer.MIN_VALUE, Long.MAX_VALUE, Short.MAX_VALUE, Byte.MIN_VALUE, 'K', true, 1.5f, 20.5));
+        for (Measurement other : changed) {
+            assertFalse(EqualLib.areEqual(measurement(), other));
+            assertFalse(EqualLib.areEqual(other, measurement()));
+        }
+    }
+
+    @DisplayName("Floating point fields compared as their wrappers")
+    @Test
+    void test2() {
+        Measurement nan1 = new Measurement(0, 0, (short) 0, (byte) 0, 'C', true, Float.NaN, Double.NaN);
+        Measurement nan2 = new Measurement(0, 0, (short) 0, (byte) 0, 'C', true, Float.NaN, Double.NaN);
+        assertTrue(EqualLib.areEqual(nan1, nan2));
+        assertEquals(EqualLib.deepHashCode(nan1), EqualLib.deepHashCode(nan2));
+
+        Measurement zero = new Measurement(0, 0, (short) 0, (byte) 0, 'C', true, 0.0f, 0.0);
+        assertFalse(EqualLib.areEqual(zero, new Measurement(0, 0, (short) 0, (byte) 0, 'C', true, -0.0f, 0.0)));
+        assertFalse(EqualLib.areEqual(zero, new Measurement(0, 0, (short) 0, (byte) 0, 'C', true, 0.0f, -0.0)));
+    }
+
+    @DisplayName("Private final fields of a superclass")
+    @Test
+    void test3() {
+        assertTrue(EqualLib.areEqual(new TemperatureSensor(1, 0.5, 2f), new TemperatureSensor(1, 0.5, 2f)));
+        assertFalse(EqualLib.areEqual(new TemperatureSensor(1, 0.5, 2f), new TemperatureSensor(2, 0.5, 2f)));
+        assertFalse(EqualLib.areEqual(new TemperatureSensor(1, 0.5, 2f), new TemperatureSensor(1, 0.25, 2f)));
+        assertFalse(EqualLib.areEqual(new TemperatureSensor(1, 0.5, 2f), new TemperatureSensor(1, 0.5, 3f)));
+    }
+
+    @DisplayName("Record components")
+    @Test
+    void test4() {
+        assertTrue(EqualLib.areEqual(new Reading(1L, 2.5, 'C'), new Reading(1L, 2.5, 'C')));
+        assertEquals(EqualLib.deepHashCode(new Reading(1L, 2.5, 'C')), EqualLib.deepHashCode(new Reading(1L, 2.5, 'C')));
+        assertFalse(EqualLib.areEqual(new Reading(1L, 2.5, 'C'), new Reading(2L, 2.5, 'C')));
+        assertFalse(EqualLib.areEqual(new Reading(1L, 2.5, 'C'), new Reading(1L, 2.5, 'F')));
+    }
+}
@@ -0,0 +1,48 @@
+package com.romiiis.accessorTests;
+
+class Measurement {
+    private int count;
+    private long timestamp;
+    private short channel;
+    private byte flags;
+    private char unit;
+    private boolean valid;
+    private float gain;
+    private double value;
+
+    Measurement(int count, long timestamp, short channel, byte flags, char unit, boolean valid, float gain, double value) {
+        this.count = count;
+        this.timestamp = timestamp;
+        this.channel = channel;
+        this.flags = flags;
+        this.unit = unit;
+        this.valid = valid;
+        this.gain = gain;
+        this.value = value;
+    }
+}
+
+/**
+ * Private final fields declared in a superclass
+ */
+class Sensor {
+    private final int id;
+    private final double offset;
+
+    Sensor(int id, double offset) {
+        this.id = id;
+        this.offset = offset;
+    }
+}
+
+class TemperatureSensor extends Sensor {
+    private final float scale;
+
+    TemperatureSensor(int id, double offset, float scale) {
+        super(id, offset);
+        this.scale = scale;
+    }
+}
+
+record Reading(long time, double value, char unit) {
+}
@@ -0,0 +1,146 @@
+package com.romiiis.annotationTests;
+
+import com.romiiis.core.ComparisonResult;
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.util.DeepHashSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnnotationTests {
+
+    private final Owner owner = new Owner("John");
+
+    @DisplayName("Ignored field")
+    @Test
+    void test1() {
+        Account account1 = new Account("A1", new Money(100, "USD", "a"), 1, new Tag("x", 1), owner);
+        Account account2 = new Account("A1", new Money(100, "USD", "a"), 2, new Tag("x", 1), owner);
+
+        assertTrue(EqualLib.areEqual(account1, account2));
+        assertTrue(EqualLib.areEqual(account2, account1));
+        assertEquals(EqualLib.deepHashCode(account1), EqualLib.deepHashCode(account2));
+
+        account2.id = "A2";
+        assertFalse(EqualLib.areEqual(account1, account2));
+    }
+
+    @DisplayName("Class and field compared by equals")
+    @Test
+    void test2() {
+        Account account1 = new Account("A1", new Money(100, "USD", "a"), 1, new Tag("x", 1), owner);
+        Account account2 = new Account("A1", new Money(100, "USD", "b"), 1, new Tag("x", 2), owner);
+
+        assertTrue(EqualLib.areEqual(account1, account2));
+        assertTrue(EqualLib.areEqual(account1.balance, account2.balance));
+        assertEquals(EqualLib.deepHashCode(account1), EqualLib.deepHashCode(account2));
+
+        account2.balance = new Money(200, "USD", "a");
+        assertFalse(EqualLib.areEqual(account1, account2));
+
+        account2.balance = account1.balance;
+        account2.tag = new Tag("y", 1);
+        assertFalse(EqualLib.areEqual(account1, account2));
+    }
+
+    @DisplayName("Shallow field")
+    @Test
+    void test3() {
+        Account account1 = new Account("A1", new Money(100, "USD", "a"), 1, new Tag("x", 1), owner);
+        Account account2 = new Account("A1", new Money(100, "USD", "a"), 1, new Tag("x", 1), new Owner("John"));
+
+        assertFalse(EqualLib.areEqual(account1, account2));
+        assertFalse(EqualLib.areEqual(account2, account1));
+
+        account2.owner = null;
+        assertFalse(EqualLib.areEqual(account1, account2));
+
+        account1.owner = null;
+        assertTrue(EqualLib.areEqual(account1, account2));
+    }
+
+    @DisplayName("Annotations with generated comparators")
+    @Test
+    void test4() {
+        EqualLibConfig config = new EqualLibConfig().setCompilationThreshold(0);
+
+        for (int i = 0; i < 10; i++) {
+            Account account1 = new Account("A" + i, new Money(i, "USD", "a"), i, new Tag("x", 1), owner);
+            Account account2 = new Account("A" + i, new Money(i, "USD", "b"), -i, new Tag("x", 2), owner);
+            assertTrue(EqualLib.areEqual(account1, account2, config));
+
+            account2.owner = new Owner("John");
+            assertFalse(EqualLib.areEqual(account1, account2, config));
+
+            account2.owner = owner;
+            account2.tag = new Tag("y", 1);
+            assertFalse(EqualLib.areEqual(account1, account2, config));
+        }
+    }
+
+    @DisplayName("Comparator generated at compile time")
+    @Test
+    void test5() {
+        Shipment shipment1 = new Shipment("S1", 10, 2.5, new ArrayList<>(List.of("a", "b")), 1);
+        Shipment shipment2 = new Shipment("S1", 10, 2.5, new ArrayList<>(List.of("a", "b")), 2);
+        int calls = ShipmentDeepComparator.CALLS.get();
+
+        assertTrue(EqualLib.areEqual(shipment1, shipment2));
+        assertTrue(ShipmentDeepComparator.CALLS.get() > calls);
+
+        shipment2.items.set(1, "c");
+        assertFalse(EqualLib.areEqual(shipment1, shipment2));
+
+        shipment2.items.set(1, "b");
+        shipment2.price = 3.5;
+        assertFalse(EqualLib.areEqual(shipment1, shipment2));
+
+        // The class has ignored fields in this configuration, so it is compared by reflection
+        EqualLibConfig config = new EqualLibConfig().setIgnoredFieldPaths("com.romiiis.annotationTests.Shipment.price");
+        calls = ShipmentDeepComparator.CALLS.get();
+        assertTrue(EqualLib.areEqual(shipment1, shipment2, config));
+        assertEquals(calls, ShipmentDeepComparator.CALLS.get());
+    }
+
+    @DisplayName("Class of a package not opened to EqualLib")
+    @Test
+    void test6() {
+        // java.util.concurrent.atomic is not opened, AtomicLong is compared and hashed only by its comparator
+        Counter counter1 = new Counter("visits", 5);
+        Counter counter2 = new Counter("visits", 5);
+        EqualLibConfig config = new EqualLibConfig().setCompareCollectionsByElements(true);
+
+        assertTrue(EqualLib.areEqual(counter1, counter2, config));
+        assertEquals(EqualLib.deepHashCode(counter1, config), EqualLib.deepHashCode(counter2, config));
+        assertTrue(EqualLib.areEqual(Set.of(counter1, new Counter("other", 1)), Set.of(new Counter("other", 1), counter2), config));
+        assertTrue(new DeepHashSet<>(config, List.of(counter1)).contains(counter2));
+
+        counter2.count.incrementAndGet();
+        assertFalse(EqualLib.areEqual(counter1, counter2, config));
+        assertFalse(EqualLib.areEqual(new AtomicLong(1), new AtomicLong(2), config));
+    }
+
+    @DisplayName("Fields read by a generated comparator are charged to the budget")
+    @Test
+    void test7() {
+        Shipment[] shipments1 = new Shipment[2000];
+        Shipment[] shipments2 = new Shipment[2000];
+        for (int i = 0; i < shipments1.length; i++) {
+            shipments1[i] = new Shipment("S" + i, i, 1.5, null, 1);
+            shipments2[i] = new Shipment("S" + i, i, 1.5, null, 2);
+        }
+
+        // 2000 array elements and 5 fields of every shipment
+        assertEquals(ComparisonResult.EQUAL, EqualLib.compare(shipments1, shipments2, new EqualLibConfig().setMaxFieldsRead(12_000)));
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(shipments1, shipments2, new EqualLibConfig().setMaxFieldsRead(5000)));
+    }
+}
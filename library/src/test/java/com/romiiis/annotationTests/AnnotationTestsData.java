@@ -0,0 +1,112 @@
+package com.romiiis.annotationTests;
+
+import com.romiiis.annotation.DeepEquatable;
+import com.romiiis.annotation.EqualIgnore;
+import com.romiiis.annotation.EqualShallow;
+import com.romiiis.annotation.EqualUseEquals;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+class Owner {
+    String name;
+
+    Owner(String name) {
+        this.name = name;
+    }
+}
+
+@EqualUseEquals
+class Money {
+    long cents;
+    String currency;
+    String note;
+
+    Money(long cents, String currency, String note) {
+        this.cents = cents;
+        this.currency = currency;
+        this.note = note;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money money && cents == money.cents && Objects.equals(currency, money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cents, currency);
+    }
+}
+
+class Tag {
+    String value;
+    int uses;
+
+    Tag(String value, int uses) {
+        this.value = value;
+        this.uses = uses;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Tag tag && Objects.equals(value, tag.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value);
+    }
+}
+
+class Account {
+    String id;
+    Money balance;
+
+    @EqualIgnore
+    long lastAccess;
+
+    @EqualUseEquals
+    Tag tag;
+
+    @EqualShallow
+    Owner owner;
+
+    Account(String id, Money balance, long lastAccess, Tag tag, Owner owner) {
+        this.id = id;
+        this.balance = balance;
+        this.lastAccess = lastAccess;
+        this.tag = tag;
+        this.owner = owner;
+    }
+}
+
+@DeepEquatable
+class Shipment {
+    String code;
+    int weight;
+    double price;
+    List<String> items;
+
+    @EqualIgnore
+    long created;
+
+    Shipment(String code, int weight, double price, List<String> items, long created) {
+        this.code = code;
+        this.weight = weight;
+        this.price = price;
+        this.items = items;
+        this.created = created;
+    }
+}
+
+class Counter {
+    String name;
+    AtomicLong count;
+
+    Counter(String name, long count) {
+        this.name = name;
+        this.count = new AtomicLong(count);
+    }
+}
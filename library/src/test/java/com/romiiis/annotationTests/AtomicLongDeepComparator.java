@@ -0,0 +1,26 @@
+package com.romiiis.annotationTests;
+
+import com.romiiis.spi.DeepComparator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Comparator of {@link AtomicLong}, its package is not opened to EqualLib, so it cannot be compared by reflection.
+ */
+public final class AtomicLongDeepComparator implements DeepComparator<AtomicLong> {
+
+    @Override
+    public Class<AtomicLong> getType() {
+        return AtomicLong.class;
+    }
+
+    @Override
+    public boolean compare(AtomicLong first, AtomicLong second, Deferred deferred) {
+        return first.get() == second.get();
+    }
+
+    @Override
+    public int hash(AtomicLong obj, Hasher hasher) {
+        return Long.hashCode(obj.get());
+    }
+}
@@ -0,0 +1,46 @@
+package com.romiiis.annotationTests;
+
+import com.romiiis.spi.DeepComparator;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Comparator of {@link Shipment} in the form generated by the EqualLib annotation processor
+ * (counts its calls to check that EqualLib uses it).
+ */
+public final class ShipmentDeepComparator implements DeepComparator<Shipment> {
+
+    static final AtomicInteger CALLS = new AtomicInteger();
+
+    @Override
+    public Class<Shipment> getType() {
+        return Shipment.class;
+    }
+
+    @Override
+    public boolean compare(Shipment first, Shipment second, Deferred deferred) {
+        CALLS.incrementAndGet();
+        if (!Objects.equals(first.code, second.code)) {
+            return false;
+        }
+        if (first.weight != second.weight) {
+            return false;
+        }
+        if (Double.doubleToLongBits(first.price) != Double.doubleToLongBits(second.price)) {
+            return false;
+        }
+        deferred.compareDeeply(first.items, second.items);
+        return true;
+    }
+
+    @Override
+    public int hash(Shipment obj, Hasher hasher) {
+        int h = 1;
+        h = 31 * h + Objects.hashCode(obj.code);
+        h = 31 * h + Integer.hashCode(obj.weight);
+        h = 31 * h + Double.hashCode(obj.price);
+        h = 31 * h + hasher.hashDeeply(obj.items);
+        return h;
+    }
+}
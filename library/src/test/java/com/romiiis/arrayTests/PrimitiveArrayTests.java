@@ -0,0 +1,92 @@
+package com.romiiis.arrayTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveArrayTests {
+
+    @DisplayName("Primitive arrays of all types")
+    @Test
+    void test1() {
+        List<Object[]> equal = List.of(
+                new Object[]{new long[]{1, Long.MAX_VALUE}, new long[]{1, Long.MAX_VALUE}},
+                new Object[]{new short[]{1, -2}, new short[]{1, -2}},
+                new Object[]{new byte[]{1, -2}, new byte[]{1, -2}},
+                new Object[]{new char[]{'a', 'b'}, new char[]{'a', 'b'}},
+                new Object[]{new boolean[]{true, false}, new boolean[]{true, false}},
+                new Object[]{new float[]{1.5f, Float.NaN}, new float[]{1.5f, Float.NaN}},
+                new Object[]{new double[]{1.5, Double.NaN}, new double[]{1.5, Double.NaN}},
+                new Object[]{new int[0], new int[0]},
+                new Object[]{new int[][]{{1, 2}, {3}}, new int[][]{{1, 2}, {3}}},
+                new Object[]{new Integer[]{1, null, 1000}, new Integer[]{1, null, 1000}},
+                new Object[]{new String[]{"a", null}, new String[]{new String("a"), null}});
+        for (Object[] pair : equal) {
+            assertTrue(EqualLib.areEqual(pair[0], pair[1]), "Arrays should be equal: " + pair[0].getClass().getSimpleName());
+        }
+
+        List<Object[]> notEqual = List.of(
+                new Object[]{new long[]{1, 2}, new long[]{1, 3}},
+                new Object[]{new short[]{1, 2}, new short[]{1}},
+                new Object[]{new byte[]{1, 2}, new byte[]{2, 1}},
+                new Object[]{new char[]{'a'}, new char[]{'b'}},
+                new Object[]{new boolean[]{true}, new boolean[]{false}},
+                new Object[]{new float[]{0.0f}, new float[]{-0.0f}},
+                new Object[]{new double[]{0.0}, new double[]{-0.0}},
+                new Object[]{new int[]{1}, new long[]{1}},
+                new Object[]{new int[][]{{1, 2}, {3}}, new int[][]{{1, 2}, {4}}},
+                new Object[]{new Integer[]{1, 1000}, new Integer[]{1, 1001}},
+                new Object[]{new String[]{"a", null}, new String[]{"a", "b"}});
+        for (Object[] pair : notEqual) {
+            assertFalse(EqualLib.areEqual(pair[0], pair[1]), "Arrays should not be equal: " + pair[0].getClass().getSimpleName());
+            assertFalse(EqualLib.areEqual(pair[1], pair[0]), "Arrays should not be equal: " + pair[1].getClass().getSimpleName());
+        }
+    }
+
+    @DisplayName("Big primitive arrays")
+    @Test
+    void test2() {
+        double[] array1 = new double[1_000_000];
+        Arrays.fill(array1, 0.5);
+        double[] array2 = array1.clone();
+        assertTrue(EqualLib.areEqual(array1, array2));
+
+        // A single pair is compared, the elements are never queued one by one
+        EqualLibConfig config = new EqualLibConfig().setMaxVisitedPairs(1);
+        assertTrue(EqualLib.areEqual(array1, array2, config));
+
+        array2[array2.length - 1] = 1.5;
+        assertFalse(EqualLib.areEqual(array1, array2));
+        assertFalse(EqualLib.areEqual(array1, array2, config));
+    }
+
+    @DisplayName("Primitive arrays in fields and collections")
+    @Test
+    void test3() {
+        Samples samples1 = new Samples(new long[]{1, 2, 3}, new char[][]{{'a'}, {'b', 'c'}});
+        Samples samples2 = new Samples(new long[]{1, 2, 3}, new char[][]{{'a'}, {'b', 'c'}});
+        assertTrue(EqualLib.areEqual(samples1, samples2));
+        assertTrue(EqualLib.areEqual(List.of(samples1), List.of(samples2), new EqualLibConfig().setCompareCollectionsByElements(true)));
+
+        samples2.names[1][1] = 'd';
+        assertFalse(EqualLib.areEqual(samples1, samples2));
+        assertFalse(EqualLib.areEqual(List.of(samples1), List.of(samples2), new EqualLibConfig().setCompareCollectionsByElements(true)));
+    }
+
+    static class Samples {
+        long[] values;
+        char[][] names;
+
+        Samples(long[] values, char[][] names) {
+            this.values = values;
+            this.names = names;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.romiiis.asyncTests;
+
+import com.romiiis.complexTests.GraphNode;
+import com.romiiis.complexTests.TestGraphGenerator;
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncTests {
+
+    @Test
+    public void testAsyncComparison() throws Exception {
+        GraphNode root1 = TestGraphGenerator.generateCyclicGraph(300_000);
+        GraphNode root2 = TestGraphGenerator.copyGraphIterative(root1);
+        GraphNode other = TestGraphGenerator.generateCyclicGraph(1000);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<Long> progress = Collections.synchronizedList(new ArrayList<>());
+            CompletableFuture<Boolean> equal = EqualLib.areEqualAsync(root1, root2, null, executor, progress::add);
+            assertTrue(equal.get(30, TimeUnit.SECONDS));
+            assertFalse(progress.isEmpty());
+            assertTrue(progress.get(0) > 0);
+
+            assertFalse(EqualLib.areEqualAsync(root1, other, new EqualLibConfig(), executor).get(30, TimeUnit.SECONDS));
+
+            // The cancelled comparison stops at the next check, so the executor is free again
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch cancelled = new CountDownLatch(1);
+            CompletableFuture<Boolean> cancelledFuture = EqualLib.areEqualAsync(root1, root2, null, executor, pairs -> {
+                started.countDown();
+                try {
+                    cancelled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+            cancelledFuture.cancel(true);
+            cancelled.countDown();
+
+            assertTrue(cancelledFuture.isCancelled());
+            assertTrue(EqualLib.areEqualAsync(other, other, null, executor).get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.romiiis.batchTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.testData.TestData.PersonLists;
+import com.romiiis.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchTests {
+
+    @Test
+    public void testBatchComparison() {
+        PersonLists lists = generateRandomPersons(1_000, true);
+        PersonLists lists2 = generateRandomPersons(1_000, false);
+
+        List<Pair> pairs = new ArrayList<>();
+        List<Pair> equalPairs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            equalPairs.add(new Pair(lists.list1().get(i), lists.list2().get(i)));
+            pairs.add(equalPairs.get(i));
+            pairs.add(new Pair(lists2.list1().get(i), lists2.list2().get(i)));
+        }
+
+        BitSet results = EqualLib.areEqualAll(pairs, new EqualLibConfig());
+        for (int i = 0; i < pairs.size(); i++) {
+            Pair pair = pairs.get(i);
+            assertEquals(EqualLib.areEqual(pair.getFirst(), pair.getSecond()), results.get(i), "Result of pair " + i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            assertEquals(results, EqualLib.areEqualAll(pairs.iterator(), null, executor));
+            assertTrue(EqualLib.areAllEqual(equalPairs.iterator(), null, executor));
+            assertFalse(EqualLib.areAllEqual(pairs.iterator(), null, executor));
+            assertTrue(EqualLib.areAllEqual(Collections.emptyIterator(), null, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchComparisonFromThreadOfExecutor() throws Exception {
+        PersonLists lists = generateRandomPersons(2_000, true);
+        List<Pair> pairs = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            pairs.add(new Pair(lists.list1().get(i), lists.list2().get(i)));
+        }
+
+        // Every thread of the pool waits for the batches it submitted to the same pool
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            EqualLibConfig config = new EqualLibConfig().setForkJoinPool(pool);
+            BitSet results = pool.submit(() -> EqualLib.areEqualAll(pairs, config)).get(30, TimeUnit.SECONDS);
+            assertEquals(pairs.size(), results.cardinality());
+        } finally {
+            pool.shutdown();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                results.add(executor.submit(() -> EqualLib.areAllEqual(pairs.iterator(), null, executor)));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.romiiis.budgetTests;
+
+import com.romiiis.complexTests.GraphNode;
+import com.romiiis.complexTests.TestGraphGenerator;
+import com.romiiis.core.ComparisonBudgetExceededException;
+import com.romiiis.core.ComparisonResult;
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BudgetTests {
+
+    @Test
+    public void testComparisonBudget() {
+        GraphNode root1 = TestGraphGenerator.generateCyclicGraph(10_000);
+        GraphNode root2 = TestGraphGenerator.copyGraphIterative(root1);
+        GraphNode other = TestGraphGenerator.generateCyclicGraph(10_000);
+
+        EqualLibConfig unlimited = new EqualLibConfig();
+        assertEquals(ComparisonResult.EQUAL, EqualLib.compare(root1, root2, unlimited));
+        assertEquals(ComparisonResult.NOT_EQUAL, EqualLib.compare(root1, other, unlimited));
+
+        EqualLibConfig pairs = new EqualLibConfig().setMaxVisitedPairs(100);
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(root1, root2, pairs));
+        assertThrows(ComparisonBudgetExceededException.class, () -> EqualLib.areEqual(root1, root2, pairs));
+        assertEquals(ComparisonResult.EQUAL, EqualLib.compare(root1, root2, new EqualLibConfig().setMaxVisitedPairs(1_000_000)));
+
+        EqualLibConfig fields = new EqualLibConfig().setMaxFieldsRead(100);
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(root1, root2, fields));
+
+        EqualLibConfig time = new EqualLibConfig().setTimeLimit(Duration.ofNanos(1));
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(root1, root2, time));
+
+        EqualLibConfig parallel = new EqualLibConfig().setParallelComparison(true).setMaxVisitedPairs(100);
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(root1, root2, parallel));
+
+        // The interrupted thread stops the comparison, its interrupt status is kept
+        EqualLibConfig large = new EqualLibConfig().setTimeLimit(Duration.ofMinutes(1));
+        Thread.currentThread().interrupt();
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(root1, root2, large));
+        assertTrue(Thread.interrupted());
+        assertEquals(ComparisonResult.EQUAL, EqualLib.compare(root1, root2, large));
+
+        Thread.currentThread().interrupt();
+        assertThrows(ComparisonBudgetExceededException.class, () -> EqualLib.areEqual(root1, root2, large));
+        assertTrue(Thread.interrupted());
+
+        assertThrows(IllegalArgumentException.class, () -> new EqualLibConfig().setMaxVisitedPairs(-2));
+        assertThrows(IllegalArgumentException.class, () -> new EqualLibConfig().setTimeLimit(Duration.ZERO));
+    }
+
+    @Test
+    public void testFieldBudgetOfArrays() {
+        Object[] array1 = new Object[20_000];
+        Object[] array2 = new Object[20_000];
+        Arrays.setAll(array1, i -> new Object());
+        Arrays.setAll(array2, i -> new Object());
+
+        // The elements have no fields, only the array elements are charged (also when the array is split between workers)
+        EqualLibConfig sequential = new EqualLibConfig().setMaxFieldsRead(10_000);
+        EqualLibConfig parallel = new EqualLibConfig().setMaxFieldsRead(10_000).setParallelComparison(true);
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(array1, array2, sequential));
+        assertEquals(ComparisonResult.BUDGET_EXCEEDED, EqualLib.compare(array1, array2, parallel));
+        assertEquals(ComparisonResult.EQUAL, EqualLib.compare(array1, array2, parallel.setMaxFieldsRead(20_000)));
+    }
+
+    @Test
+    public void testAsyncComparisonOverBudget() throws Exception {
+        GraphNode root1 = TestGraphGenerator.generateCyclicGraph(10_000);
+        GraphNode root2 = TestGraphGenerator.copyGraphIterative(root1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Boolean> future = EqualLib.areEqualAsync(root1, root2, new EqualLibConfig().setMaxVisitedPairs(100), executor);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(ComparisonBudgetExceededException.class, e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
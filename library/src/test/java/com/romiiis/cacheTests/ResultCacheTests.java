@@ -0,0 +1,153 @@
+package com.romiiis.cacheTests;
+
+import com.romiiis.complexTests.GraphNode;
+import com.romiiis.complexTests.TestGraphGenerator;
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.testData.Person;
+import com.romiiis.testData.TestData.PersonLists;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResultCacheTests {
+
+    @Test
+    public void testResultCache() {
+        GraphNode root1 = TestGraphGenerator.generateCyclicGraph(100);
+        GraphNode root2 = TestGraphGenerator.copyGraphIterative(root1);
+        GraphNode root3 = TestGraphGenerator.copyGraphIterative(root1);
+
+        // Without immutable classes the results of mutable objects are not cached
+        EqualLibConfig uncached = new EqualLibConfig().setResultCacheSize(1);
+        assertTrue(EqualLib.areEqual(root1, root2, uncached));
+        root2.addNeighbor(new GraphNode("changed"));
+        assertFalse(EqualLib.areEqual(root1, root2, uncached));
+        root2 = TestGraphGenerator.copyGraphIterative(root1);
+
+        EqualLibConfig config = new EqualLibConfig().setResultCacheSize(1).setImmutableClasses("com.romiiis.complexTests.GraphNode");
+        assertTrue(EqualLib.areEqual(root1, root2, config));
+
+        // The graph is changed, so only the cached result (in both orders) is still true
+        root2.addNeighbor(new GraphNode("changed"));
+        assertTrue(EqualLib.areEqual(root1, root2, config));
+        assertTrue(EqualLib.areEqual(root2, root1, config));
+        assertFalse(EqualLib.areEqual(root1, root2));
+
+        // The cache holds one result, the first one is evicted
+        assertTrue(EqualLib.areEqual(root1, root3, config));
+        assertFalse(EqualLib.areEqual(root1, root2, config));
+
+        // Only the results of the immutable classes are cached
+        EqualLibConfig immutable = new EqualLibConfig().setResultCacheSize(100).setImmutableClasses("java.lang");
+        assertTrue(EqualLib.areEqual(root1, root3, immutable));
+        root3.addNeighbor(new GraphNode("changed"));
+        assertFalse(EqualLib.areEqual(root1, root3, immutable));
+
+        immutable.setImmutableClasses("com.romiiis.complexTests.GraphNode");
+        assertTrue(EqualLib.areEqual(root2, root3, immutable));
+        root3.addNeighbor(new GraphNode("changed again"));
+        assertTrue(EqualLib.areEqual(root2, root3, immutable));
+
+        EqualLib.clearResultCache();
+        assertFalse(EqualLib.areEqual(root2, root3, immutable));
+    }
+
+    @Test
+    public void testMutableCollectionCache() {
+        PersonLists lists = generateRandomPersons(1_000, true);
+        List<Person> list1 = new ArrayList<>(lists.list1());
+        List<Person> list2 = new ArrayList<>(lists.list2());
+        Map<String, Person> map1 = new HashMap<>();
+        Map<String, Person> map2 = new HashMap<>();
+        for (int i = 0; i < list1.size(); i++) {
+            map1.put("key" + i, list1.get(i));
+            map2.put("key" + i, list2.get(i));
+        }
+
+        EqualLibConfig config = new EqualLibConfig()
+                .setCompareCollectionsByElements(true)
+                .setResultCacheSize(16)
+                .setImmutableClasses("java.lang", "com.romiiis.testData.Person")
+                .setCacheMutableCollections(true);
+        assertTrue(EqualLib.areEqual(list1, list2, config));
+        assertTrue(EqualLib.areEqual(map1, map2, config));
+
+        // A change inside an element listed as immutable is not detected, so the cached result is reused
+        Person changed = list1.get(0);
+        String name = changed.name;
+        changed.name = "changed";
+        assertTrue(EqualLib.areEqual(list1, list2, config));
+        assertTrue(EqualLib.areEqual(map2, map1, config));
+        changed.name = name;
+
+        // Structural changes and replaced elements invalidate the cached result
+        Person removed = list1.remove(list1.size() - 1);
+        assertFalse(EqualLib.areEqual(list1, list2, config));
+        list1.add(removed);
+        assertTrue(EqualLib.areEqual(list1, list2, config));
+
+        Person replaced = new Person(list1.get(1));
+        replaced.name = "replaced";
+        Person original = list1.set(1, replaced);
+        assertFalse(EqualLib.areEqual(list1, list2, config));
+        assertFalse(EqualLib.areEqual(list2, list1, config));
+        list1.set(1, original);
+        assertTrue(EqualLib.areEqual(list1, list2, config));
+
+        map1.put("key0", replaced);
+        assertFalse(EqualLib.areEqual(map1, map2, config));
+
+        LinkedList<Person> linked1 = new LinkedList<>(list1);
+        LinkedList<Person> linked2 = new LinkedList<>(list2);
+        assertTrue(EqualLib.areEqual(linked1, linked2, config));
+        linked1.addFirst(replaced);
+        linked2.addFirst(original);
+        assertFalse(EqualLib.areEqual(linked1, linked2, config));
+    }
+
+    @Test
+    public void testMutableCollectionCacheOfMutableElements() {
+        PersonLists lists = generateRandomPersons(100, true);
+        List<Person> list1 = new ArrayList<>(lists.list1());
+        List<Person> list2 = new ArrayList<>(lists.list2());
+
+        EqualLibConfig config = new EqualLibConfig()
+                .setCompareCollectionsByElements(true)
+                .setResultCacheSize(16)
+                .setImmutableClasses("java.lang")
+                .setCacheMutableCollections(true);
+        assertTrue(EqualLib.areEqual(list1, list2, config));
+
+        // Person is not immutable, so the result is not cached and the change inside the element is found
+        Person changed = list2.get(0) == list1.get(0) ? new Person(list2.get(0)) : list2.get(0);
+        list2.set(0, changed);
+        assertTrue(EqualLib.areEqual(list1, list2, config));
+        changed.name = "changed";
+        assertFalse(EqualLib.areEqual(list1, list2, config));
+        assertFalse(EqualLib.areEqual(list2, list1, config));
+
+        // Nested collections are mutable elements too
+        List<List<String>> nested1 = new ArrayList<>(List.of(new ArrayList<>(List.of("a", "b")), new ArrayList<>(List.of("c"))));
+        List<List<String>> nested2 = new ArrayList<>(List.of(new ArrayList<>(List.of("a", "b")), new ArrayList<>(List.of("c"))));
+        assertTrue(EqualLib.areEqual(nested1, nested2, config));
+        nested2.get(1).set(0, "d");
+        assertFalse(EqualLib.areEqual(nested1, nested2, config));
+        nested2.get(1).set(0, "c");
+        assertTrue(EqualLib.areEqual(nested1, nested2, config));
+
+        Map<String, List<String>> map1 = new HashMap<>(Map.of("key", new ArrayList<>(List.of("a"))));
+        Map<String, List<String>> map2 = new HashMap<>(Map.of("key", new ArrayList<>(List.of("a"))));
+        assertTrue(EqualLib.areEqual(map1, map2, config));
+        map2.get("key").add("b");
+        assertFalse(EqualLib.areEqual(map1, map2, config));
+    }
+}
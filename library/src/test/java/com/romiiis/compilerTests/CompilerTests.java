@@ -0,0 +1,130 @@
+package com.romiiis.compilerTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompilerTests {
+
+    private final Object shared = new Object();
+
+    /**
+     * Compared by the comparator generated for the class
+     */
+    private final EqualLibConfig compiled = new EqualLibConfig().setCompilationThreshold(0);
+
+    /**
+     * Compared by reflection only
+     */
+    private final EqualLibConfig reflective = new EqualLibConfig().setCompilationThreshold(-1);
+
+    private void assertSameResult(boolean expected, Sample sample1, Sample sample2, String message) {
+        // Repeated, so the comparator is generated and used
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, EqualLib.areEqual(sample1, sample2, reflective), message + " (reflective)");
+            assertEquals(expected, EqualLib.areEqual(sample1, sample2, compiled), message + " (compiled)");
+            assertEquals(expected, EqualLib.areEqual(sample2, sample1, compiled), message + " (compiled, swapped)");
+        }
+    }
+
+    @DisplayName("Equal objects")
+    @Test
+    void test1() {
+        assertSameResult(true, new Sample(shared), new Sample(shared), "Equal samples");
+    }
+
+    @DisplayName("Every field shape")
+    @Test
+    void test2() {
+        Map<String, Consumer<Sample>> changes = new LinkedHashMap<>();
+        changes.put("int", sample -> sample.i++);
+        changes.put("long", sample -> sample.l = Long.MAX_VALUE);
+        changes.put("short", sample -> sample.s = Short.MIN_VALUE);
+        changes.put("byte", sample -> sample.b = -1);
+        changes.put("char", sample -> sample.c = 'x');
+        changes.put("boolean", sample -> sample.z = false);
+        changes.put("float", sample -> sample.f = 5.25f);
+        changes.put("double", sample -> sample.d = 6.25);
+        changes.put("wrapper", sample -> sample.wrapper = 1001);
+        changes.put("null wrapper", sample -> sample.wrapper = null);
+        changes.put("String", sample -> sample.text = "other");
+        changes.put("null String", sample -> sample.text = null);
+        changes.put("identity", sample -> sample.shared = new Object());
+        changes.put("reference", sample -> sample.reference.baseName = "other");
+        changes.put("inherited primitive", sample -> sample.baseId = 2);
+        changes.put("inherited String", sample -> sample.baseName = "other");
+
+        for (Map.Entry<String, Consumer<Sample>> change : changes.entrySet()) {
+            Sample sample = new Sample(shared);
+            change.getValue().accept(sample);
+            assertSameResult(false, new Sample(shared), sample, change.getKey());
+        }
+    }
+
+    @DisplayName("Floating point values compared by their bits")
+    @Test
+    void test3() {
+        Sample sample1 = new Sample(shared);
+        Sample sample2 = new Sample(shared);
+
+        sample1.f = Float.NaN;
+        sample2.f = Float.NaN;
+        sample1.d = Double.NaN;
+        sample2.d = Double.NaN;
+        assertSameResult(true, sample1, sample2, "NaN");
+
+        sample1.f = 0.0f;
+        sample2.f = -0.0f;
+        assertSameResult(false, sample1, sample2, "Float -0.0");
+
+        sample2.f = 0.0f;
+        sample1.d = 0.0;
+        sample2.d = -0.0;
+        assertSameResult(false, sample1, sample2, "Double -0.0");
+
+        sample2.d = 0.0;
+        assertSameResult(true, sample1, sample2, "Zeros");
+    }
+
+    @DisplayName("Nulls and equal wrappers of other instances")
+    @Test
+    void test4() {
+        Sample sample1 = new Sample(shared);
+        Sample sample2 = new Sample(shared);
+        sample1.wrapper = null;
+        sample2.wrapper = null;
+        sample1.text = null;
+        sample2.text = null;
+        sample1.shared = null;
+        sample2.shared = null;
+        assertSameResult(true, sample1, sample2, "Nulls");
+
+        sample1.wrapper = Integer.valueOf(100_000);
+        sample2.wrapper = Integer.valueOf(100_000);
+        sample1.text = new String("text");
+        sample2.text = new String("text");
+        assertSameResult(true, sample1, sample2, "Equal values");
+
+        assertTrue(EqualLib.areEqual(sample1, sample2, compiled));
+        assertFalse(EqualLib.areEqual(sample1, new Sample(shared), compiled));
+    }
+
+    @DisplayName("Generated comparators disabled by default")
+    @Test
+    void test5() {
+        EqualLibConfig config = new EqualLibConfig();
+        assertEquals(-1, config.getCompilationThreshold());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(EqualLib.areEqual(new Sample(shared), new Sample(shared), config));
+        }
+    }
+}
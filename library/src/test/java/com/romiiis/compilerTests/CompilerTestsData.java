@@ -0,0 +1,43 @@
+package com.romiiis.compilerTests;
+
+import com.romiiis.annotation.EqualShallow;
+
+class Base {
+    long baseId;
+    String baseName;
+}
+
+class Sample extends Base {
+    int i;
+    long l;
+    short s;
+    byte b;
+    char c;
+    boolean z;
+    float f;
+    double d;
+    Integer wrapper;
+    String text;
+
+    @EqualShallow
+    Object shared;
+
+    Base reference;
+
+    Sample(Object shared) {
+        this.baseId = 1;
+        this.baseName = "base";
+        this.i = 1;
+        this.l = 2;
+        this.s = 3;
+        this.b = 4;
+        this.c = 'c';
+        this.z = true;
+        this.f = 5.5f;
+        this.d = 6.5;
+        this.wrapper = 1000;
+        this.text = "text";
+        this.shared = shared;
+        this.reference = new Base();
+    }
+}
@@ -0,0 +1,110 @@
+package com.romiiis.customEqualsTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class customEqualsTests {
+
+    @Test
+    @DisplayName("Custom equals")
+    void test1() {
+
+
+        Person person1 = new Person("John", 30, new Address("Main St", new City("New York", 1000000, Country.USA)));
+        Person person2 = new Person("John", 30, new Address("Main St", new City("New York", 1000000, Country.USA)));
+
+        assertTrue(EqualLib.areEqual(person1, person2));
+        assertTrue(EqualLib.areEqual(person2, person1));
+
+        person2 = new Person("John", 105, new Address("Main St", new City("New York", 1000000, Country.UK)));
+        assertFalse(EqualLib.areEqual(person1, person2));
+        assertFalse(EqualLib.areEqual(person2, person1));
+
+        EqualLibConfig config = new EqualLibConfig();
+        config.setCustomEqualsClasses("com.romiiis.customEqualsTests");
+        assertTrue(EqualLib.areEqual(person1, person2, config));
+        assertTrue(EqualLib.areEqual(person2, person1, config));
+
+        config.setCustomEqualsClasses("com.romiiis");
+        assertTrue(EqualLib.areEqual(person1, person2, config));
+        assertTrue(EqualLib.areEqual(person2, person1, config));
+
+        config.setCustomEqualsClasses("com.romiiis.customEqualsTests.Person");
+        assertTrue(EqualLib.areEqual(person1, person2, config));
+        assertTrue(EqualLib.areEqual(person2, person1, config));
+
+
+    }
+
+
+    @Test
+    @DisplayName("Custom equals without hashCode in sets and maps")
+    void testCustomEqualsWithoutHashCode() {
+        // City overrides only equals (the population is not compared), its hash code is the identity hash
+        EqualLibConfig config = new EqualLibConfig()
+                .setCustomEqualsClasses("com.romiiis.customEqualsTests.City")
+                .setCompareCollectionsByElements(true);
+
+        Set<City> cities1 = new HashSet<>(List.of(new City("New York", 1000000, Country.USA), new City("London", 9000000, Country.UK)));
+        Set<City> cities2 = new HashSet<>(List.of(new City("London", 1, Country.UK), new City("New York", 2, Country.USA)));
+        assertTrue(EqualLib.areEqual(cities1, cities2, config));
+        assertTrue(EqualLib.areEqual(cities2, cities1, config));
+        assertEquals(EqualLib.deepHashCode(cities1, config), EqualLib.deepHashCode(cities2, config));
+
+        Map<City, String> map1 = new HashMap<>();
+        Map<City, String> map2 = new HashMap<>();
+        map1.put(new City("New York", 1000000, Country.USA), "a");
+        map2.put(new City("New York", 3, Country.USA), "a");
+        assertTrue(EqualLib.areEqual(map1, map2, config));
+
+        cities2.add(new City("Prague", 1, Country.UK));
+        assertFalse(EqualLib.areEqual(cities1, cities2, config));
+    }
+
+
+    @Test
+    @DisplayName("Custom equals comparing deeply")
+    void testCustomEqualsComparingDeeply() {
+
+        // The custom equals method starts another comparison while the first one is running
+        EqualLibConfig config = new EqualLibConfig();
+        config.setCustomEqualsClasses("com.romiiis.customEqualsTests.customEqualsTests$DeepHolder");
+
+        DeepHolder holder1 = new DeepHolder(new Person("John", 30, new Address("Main St", new City("New York", 1000000, Country.USA))));
+        DeepHolder holder2 = new DeepHolder(new Person("John", 30, new Address("Main St", new City("New York", 1000000, Country.USA))));
+        DeepHolder holder3 = new DeepHolder(new Person("John", 30, new Address("Main St", new City("New York", 1000000, Country.UK))));
+
+        assertTrue(EqualLib.areEqual(List.of(holder1, holder1), List.of(holder2, holder2), config));
+        assertFalse(EqualLib.areEqual(List.of(holder1, holder1), List.of(holder2, holder3), config));
+
+        // The comparisons after them are not affected
+        assertTrue(EqualLib.areEqual(holder1.person, holder2.person));
+        assertFalse(EqualLib.areEqual(holder1.person, holder3.person));
+    }
+
+
+    static class DeepHolder {
+        Person person;
+
+        DeepHolder(Person person) {
+            this.person = person;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof DeepHolder other && EqualLib.areEqual(person, other.person);
+        }
+    }
+}
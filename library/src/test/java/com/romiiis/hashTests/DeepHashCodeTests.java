@@ -0,0 +1,90 @@
+package com.romiiis.hashTests;
+
+import com.romiiis.complexTests.GraphNode;
+import com.romiiis.complexTests.TestGraphGenerator;
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.testData.TestData.PersonLists;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeepHashCodeTests {
+
+    @Test
+    public void testDeepHashCode() {
+        GraphNode root1 = TestGraphGenerator.generateCyclicGraph(1000);
+        GraphNode root2 = TestGraphGenerator.copyGraphIterative(root1);
+        assertEquals(EqualLib.deepHashCode(root1), EqualLib.deepHashCode(root2));
+
+        PersonLists lists = generateRandomPersons(100, true);
+        Set<Object> set1 = new LinkedHashSet<>(lists.list1());
+        List<Object> reversed = new ArrayList<>(lists.list2());
+        Collections.reverse(reversed);
+        Set<Object> set2 = new LinkedHashSet<>(reversed);
+        Map<Object, Object> map1 = new LinkedHashMap<>();
+        Map<Object, Object> map2 = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map1.put("key" + i, lists.list1().get(i));
+            map2.put("key" + (99 - i), lists.list2().get(99 - i));
+        }
+
+        for (EqualLibConfig config : List.of(new EqualLibConfig(), new EqualLibConfig().setCompareInheritedFields(true),
+                new EqualLibConfig().setMaxComparisonDepth(2, false))) {
+            config.setCompareCollectionsByElements(true);
+            assertTrue(EqualLib.areEqual(set1, set2, config));
+            assertEquals(EqualLib.deepHashCode(set1, config), EqualLib.deepHashCode(set2, config));
+            assertTrue(EqualLib.areEqual(map1, map2, config));
+            assertEquals(EqualLib.deepHashCode(map1, config), EqualLib.deepHashCode(map2, config));
+        }
+        assertEquals(0, EqualLib.deepHashCode(null));
+    }
+
+    @Test
+    public void testValuesByInheritedFields() {
+        EqualLibConfig config = new EqualLibConfig().setCompareInheritedFields(true).setCompareCollectionsByElements(true);
+
+        // Wrappers are compared and hashed by their values, not as Number
+        assertFalse(EqualLib.areEqual(1, 2, config));
+        assertFalse(EqualLib.areEqual(1, 1L, config));
+        assertNotEquals(EqualLib.deepHashCode(1, config), EqualLib.deepHashCode(2, config));
+        assertNotEquals(EqualLib.deepHashCode(1.5, config), EqualLib.deepHashCode(2.5, config));
+
+        Set<Object> set1 = new LinkedHashSet<>();
+        Set<Object> set2 = new LinkedHashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            set1.add(i);
+            set2.add(999 - i);
+        }
+        assertTrue(EqualLib.areEqual(set1, set2, config));
+        assertEquals(EqualLib.deepHashCode(set1, config), EqualLib.deepHashCode(set2, config));
+        set2.remove(0);
+        set2.add(1000);
+        assertFalse(EqualLib.areEqual(set1, set2, config));
+
+        // Constants of different enums are equal by their name and ordinal
+        assertTrue(EqualLib.areEqual(Light.RED, Signal.RED, config));
+        assertEquals(EqualLib.deepHashCode(Light.RED, config), EqualLib.deepHashCode(Signal.RED, config));
+        assertNotEquals(EqualLib.deepHashCode(Light.RED, config), EqualLib.deepHashCode(Light.GREEN, config));
+    }
+
+    enum Light {
+        RED, GREEN
+    }
+
+    enum Signal {
+        RED, STOP
+    }
+}
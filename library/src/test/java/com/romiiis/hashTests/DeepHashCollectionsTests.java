@@ -0,0 +1,113 @@
+package com.romiiis.hashTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.testData.Person;
+import com.romiiis.testData.TestData.PersonLists;
+import com.romiiis.util.DeepHashMap;
+import com.romiiis.util.DeepHashSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeepHashCollectionsTests {
+
+    @Test
+    public void testDeepHashCollections() {
+        PersonLists lists = generateRandomPersons(1_000, true);
+
+        DeepHashMap<Person, Integer> map = new DeepHashMap<>(new EqualLibConfig());
+        for (int i = 0; i < lists.list1().size(); i++) {
+            map.put(lists.list1().get(i), i);
+        }
+        for (int i = 0; i < lists.list2().size(); i++) {
+            Person copy = lists.list2().get(i);
+            assertTrue(map.containsKey(copy));
+            assertTrue(EqualLib.areEqual(lists.list1().get(map.get(copy)), copy));
+        }
+        assertFalse(map.containsKey(new Person()));
+
+        int size = map.size();
+        Person first = lists.list2().get(0);
+        Integer index = map.remove(first);
+        assertNotNull(index);
+        assertEquals(size - 1, map.size());
+        assertFalse(map.containsKey(first));
+        assertNull(map.put(first, index));
+        assertEquals(index, map.put(first, index));
+
+        Iterator<Map.Entry<Person, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertTrue(map.values().stream().allMatch(value -> value % 2 == 1));
+
+        DeepHashSet<Person> set = new DeepHashSet<>(new EqualLibConfig(), lists.list1());
+        assertEquals(size, set.size());
+        assertFalse(set.add(lists.list2().get(1)));
+        assertTrue(set.containsAll(lists.list2()));
+        assertTrue(set.remove(lists.list2().get(1)));
+        assertFalse(set.contains(lists.list1().get(1)));
+
+        // The configuration decides what is equal
+        Person named = new Person(lists.list1().get(2));
+        named.name = "other";
+        assertFalse(set.contains(named));
+        DeepHashSet<Person> ignoringNames = new DeepHashSet<>(
+                new EqualLibConfig().setIgnoredFieldPaths("com.romiiis.testData.Person.name"), lists.list1());
+        assertTrue(ignoringNames.contains(named));
+    }
+
+    @Test
+    public void testDeepHashCollectionsEquality() {
+        PersonLists lists = generateRandomPersons(100, true);
+        EqualLibConfig config = new EqualLibConfig();
+
+        // The keys of the maps are deeply equal copies, not the same objects
+        DeepHashMap<Person, Integer> map1 = new DeepHashMap<>(config);
+        DeepHashMap<Person, Integer> map2 = new DeepHashMap<>(config);
+        for (int i = 0; i < lists.list1().size(); i++) {
+            map1.put(lists.list1().get(i), i);
+            map2.put(new Person(lists.list1().get(i)), i);
+        }
+        assertEquals(map1, map2);
+        assertEquals(map2, map1);
+        assertEquals(map1.hashCode(), map2.hashCode());
+        assertEquals(map1.entrySet(), map2.entrySet());
+        assertEquals(map1.entrySet().hashCode(), map2.entrySet().hashCode());
+
+        Person copy = new Person(lists.list1().get(0));
+        Map.Entry<Person, Integer> entry = Map.entry(copy, map1.get(copy));
+        assertTrue(map1.entrySet().contains(entry));
+        assertFalse(map1.entrySet().contains(Map.entry(copy, -1)));
+        assertFalse(map1.entrySet().remove(Map.entry(copy, -1)));
+        assertTrue(map1.entrySet().remove(entry));
+        assertFalse(map1.containsKey(copy));
+        assertEquals(lists.list1().size() - 1, map1.size());
+        assertNotEquals(map1, map2);
+
+        DeepHashMap<Person, Integer> changed = new DeepHashMap<>(config, map2);
+        changed.put(copy, -1);
+        assertNotEquals(map2, changed);
+
+        DeepHashSet<Person> set1 = new DeepHashSet<>(config, lists.list1());
+        DeepHashSet<Person> set2 = new DeepHashSet<>(config, lists.list1().stream().map(Person::new).toList());
+        assertEquals(set1, set2);
+        assertEquals(set2, set1);
+        assertEquals(set1.hashCode(), set2.hashCode());
+
+        set2.remove(copy);
+        assertNotEquals(set1, set2);
+    }
+}
@@ -5,6 +5,7 @@ import com.romiiis.core.EqualLibConfig;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -40,6 +41,7 @@ public class ignoringTests {
 
         assertTrue(EqualLib.areEqual(person1, person2, config));
         assertTrue(EqualLib.areEqual(person2, person1, config));
+        assertEquals(EqualLib.deepHashCode(person1, config), EqualLib.deepHashCode(person2, config));
     }
 
 
@@ -162,6 +162,35 @@ public class inheritanceTests {
         assertTrue(EqualLib.areEqual(child, parent, config), "Inherited fields should be equal");
     }
 
+    @Test
+    @DisplayName("Enum keys of different enums when comparing inherited fields")
+    void testEnumKeysByInheritance() {
+        Map<Enum<?>, String> map1 = new HashMap<>();
+        Map<Enum<?>, String> map2 = new HashMap<>();
+        map1.put(Light.RED, "stop");
+        map2.put(Signal.RED, "stop");
+
+        assertFalse(EqualLib.areEqual(map1, map2, config), "Keys of different enums should not be equal");
+
+        config.setCompareInheritedFields(true);
+
+        // Both keys are compared as Enum (by the name and ordinal), the same as the keys themselves
+        assertTrue(EqualLib.areEqual(Light.RED, Signal.RED, config), "Inherited fields should be equal");
+        assertTrue(EqualLib.areEqual(map1, map2, config), "Keys equal by inherited fields should match");
+        assertTrue(EqualLib.areEqual(map2, map1, config), "Keys equal by inherited fields should match");
+
+        map2.put(Signal.RED, "go");
+        assertFalse(EqualLib.areEqual(map1, map2, config), "Maps with different values should not be equal");
+    }
+
+    enum Light {
+        RED, GREEN
+    }
+
+    enum Signal {
+        RED, STOP
+    }
+
     static class Parent {
         int value = 10;
     }
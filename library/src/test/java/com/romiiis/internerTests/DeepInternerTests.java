@@ -0,0 +1,64 @@
+package com.romiiis.internerTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.testData.Person;
+import com.romiiis.testData.TestData.PersonLists;
+import com.romiiis.util.DeepInterner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeepInternerTests {
+
+    @Test
+    public void testDeepInterner() throws Exception {
+        PersonLists lists = generateRandomPersons(1_000, true);
+        DeepInterner<Person> interner = new DeepInterner<>(new EqualLibConfig(), 4);
+
+        List<Person> canonicals = new ArrayList<>();
+        for (Person person : lists.list1()) {
+            canonicals.add(interner.intern(person));
+        }
+        for (int i = 0; i < canonicals.size(); i++) {
+            assertTrue(EqualLib.areEqual(canonicals.get(i), lists.list1().get(i)));
+            assertSame(canonicals.get(i), interner.intern(lists.list2().get(i)));
+        }
+        assertTrue(interner.size() <= lists.list1().size());
+        assertNull(interner.intern(null));
+
+        // Concurrent interning of equal objects returns the same canonical instances
+        DeepInterner<Person> concurrent = new DeepInterner<>(new EqualLibConfig(), 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Person>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<Person> source = t % 2 == 0 ? lists.list1() : lists.list2();
+                results.add(executor.submit(() -> source.stream().map(concurrent::intern).toList()));
+            }
+            List<Person> first = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<List<Person>> result : results) {
+                List<Person> interned = result.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < interned.size(); i++) {
+                    assertSame(first.get(i), interned.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        interner.clear();
+        assertEquals(0, interner.size());
+    }
+}
@@ -0,0 +1,123 @@
+package com.romiiis.metadataTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.testData.Address;
+import com.romiiis.testData.Person;
+import com.romiiis.testData.TestData.PersonLists;
+import com.romiiis.testData.University;
+import com.romiiis.util.MetadataGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InaccessibleObjectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetadataTests {
+
+    @Test
+    public void testWarmUpAndMetadata() throws Exception {
+        EqualLibConfig config = new EqualLibConfig();
+        EqualLib.clearFieldCache();
+
+        // The plans already exist, the warm-up still resolves the fields
+        PersonLists lists = generateRandomPersons(100, true);
+        assertTrue(EqualLib.areEqual(lists.list1(), lists.list2(), config));
+
+        // University, Person (List<Person> element type) and Address
+        assertEquals(3, EqualLib.warmUp(config, University.class));
+        assertEquals(1, EqualLib.warmUp(config, Address[].class));
+
+        Path file = Files.createTempFile("equallib", ".metadata");
+        try {
+            EqualLib.saveMetadata(file);
+            List<String> saved = Files.readAllLines(file);
+            for (Class<?> type : List.of(University.class, Person.class, Address.class)) {
+                assertTrue(saved.stream().anyMatch(line -> line.startsWith(type.getName() + "\t")), "Fields of " + type.getName() + " should be saved");
+            }
+            EqualLib.clearFieldCache();
+            assertTrue(EqualLib.loadMetadata(file, config) >= 3);
+
+            assertTrue(EqualLib.areEqual(lists.list1(), lists.list2(), config));
+
+            // A class whose fields changed since the file was written is skipped
+            List<String> lines = Files.readAllLines(file);
+            lines.replaceAll(line -> line.replace("Address#city:", "Address#town:"));
+            Files.write(file, lines);
+            EqualLib.clearFieldCache();
+            int loaded = EqualLib.loadMetadata(file);
+            assertEquals(lines.size() - 2, loaded);
+
+            Address address1 = new Address();
+            address1.city = "Prague";
+            Address address2 = new Address(address1);
+            address2.city = "Brno";
+            assertFalse(EqualLib.areEqual(address1, address2, config));
+
+            Files.writeString(file, "not metadata");
+            assertThrows(IOException.class, () -> EqualLib.loadMetadata(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testPrecomputedMetadata() throws Exception {
+        Path directory = Files.createTempDirectory("equallib");
+        try {
+            // The generated files do not depend on what was compared and cleared before
+            PersonLists lists = generateRandomPersons(100, true);
+            assertTrue(EqualLib.areEqual(lists.list1(), lists.list2()));
+            EqualLib.clearFieldCache();
+            assertTrue(EqualLib.areEqual(lists.list1(), lists.list2()));
+
+            assertEquals(3, MetadataGenerator.generate(directory, null, University.class));
+            String reflectConfig = Files.readString(directory.resolve(MetadataGenerator.REFLECT_CONFIG));
+            assertTrue(reflectConfig.contains("\"name\": \"com.romiiis.testData.Person\""));
+            assertTrue(reflectConfig.contains("{ \"name\": \"address\" }"));
+            List<String> metadata = Files.readAllLines(directory.resolve(MetadataGenerator.METADATA));
+            assertEquals(4, metadata.size(), "Header and the fields of University, Person and Address should be saved");
+            assertTrue(metadata.stream().skip(1).allMatch(line -> line.contains("#")), "Every saved class should have its fields");
+
+            EqualLibConfig config = new EqualLibConfig()
+                    .setPrecomputedMetadataOnly(true)
+                    .setCompareCollectionsByElements(true)
+                    .setCompilationThreshold(0);
+            assertEquals(3, EqualLib.loadMetadata(directory.resolve(MetadataGenerator.METADATA), config));
+
+            PersonLists lists2 = generateRandomPersons(100, false);
+            assertTrue(EqualLib.areEqual(lists.list1(), lists.list2(), config));
+            assertFalse(EqualLib.areEqual(lists2.list1(), lists2.list2(), config));
+
+            // A class without the precomputed metadata is not walked by reflection (no other test compares this class)
+            assertThrows(IllegalStateException.class, () -> EqualLib.areEqual(new Unwarmed(), new Unwarmed(), config));
+
+            // A class whose fields cannot be resolved fails the generation instead of being written without its fields
+            Path closed = directory.resolve("closed");
+            assertThrows(InaccessibleObjectException.class, () -> MetadataGenerator.generate(closed, null, AtomicInteger.class));
+            assertFalse(Files.exists(closed.resolve(MetadataGenerator.REFLECT_CONFIG)));
+            Files.deleteIfExists(closed);
+        } finally {
+            for (String name : List.of(MetadataGenerator.REFLECT_CONFIG, MetadataGenerator.METADATA)) {
+                Files.deleteIfExists(directory.resolve(name));
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Class compared only in the precomputed-only mode
+     */
+    private static class Unwarmed {
+        int value;
+    }
+}
@@ -0,0 +1,123 @@
+package com.romiiis.parallelTests;
+
+import com.romiiis.complexTests.GraphNode;
+import com.romiiis.complexTests.TestGraphGenerator;
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.core.TraversalStrategy;
+import com.romiiis.testData.Person;
+import com.romiiis.testData.TestData.PersonLists;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelTests {
+
+    @Test
+    public void testParallelComparison() {
+        GraphNode root1 = TestGraphGenerator.generateCyclicGraph(100_000);
+        GraphNode root2 = TestGraphGenerator.copyGraphIterative(root1);
+        GraphNode other = TestGraphGenerator.generateCyclicGraph(100_000);
+
+        EqualLibConfig config = new EqualLibConfig().setParallelComparison(true);
+
+        long start = System.currentTimeMillis();
+        assertTrue(EqualLib.areEqual(root1, root2, config), "Big graphs should be equal");
+        assertTrue(EqualLib.areEqual(root2, root1, config), "Big graphs should be equal");
+        System.out.println("Time to compare big graphs in parallel 2x: " + (System.currentTimeMillis() - start) + " ms");
+
+        assertFalse(EqualLib.areEqual(root1, other, config), "Graphs should not be equal");
+
+        PersonLists lists = generateRandomPersons(10_000, true);
+        PersonLists lists2 = generateRandomPersons(10_000, false);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            config.setForkJoinPool(pool).setTraversalStrategy(TraversalStrategy.DEPTH_FIRST);
+            assertTrue(EqualLib.areEqual(lists.list1(), lists.list2(), config), "Lists should be equal");
+            assertFalse(EqualLib.areEqual(lists2.list1(), lists2.list2(), config), "Lists should not be equal");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelChunks() {
+        PersonLists lists = generateRandomPersons(50_000, true);
+
+        List<Person> changed = new ArrayList<>(lists.list2());
+        Person person = new Person(changed.get(30_000));
+        person.age++;
+        changed.set(30_000, person);
+
+        Object[] array1 = lists.list1().toArray();
+        Object[] array2 = lists.list2().toArray();
+        Object[] changedArray = changed.toArray();
+
+        EqualLibConfig config = new EqualLibConfig()
+                .setParallelComparison(true)
+                .setParallelThreshold(1000);
+
+        assertTrue(EqualLib.areEqual(array1, array2, config), "Arrays should be equal");
+        assertFalse(EqualLib.areEqual(array1, changedArray, config), "Arrays should not be equal");
+        assertFalse(EqualLib.areEqual(array1, Arrays.copyOf(array2, 49_999), config), "Arrays should not be equal");
+
+        // Lists compared by elements
+        config.setCompareCollectionsByElements(true);
+        assertTrue(EqualLib.areEqual(lists.list1(), lists.list2(), config), "Lists should be equal");
+        assertFalse(EqualLib.areEqual(lists.list1(), changed, config), "Lists should not be equal");
+        assertFalse(EqualLib.areEqual(lists.list1(), new ArrayList<>(changed.subList(0, 49_999)), config), "Lists should not be equal");
+    }
+
+    @Test
+    public void testParallelPartitions() {
+        PersonLists lists = generateRandomPersons(20_000, true);
+
+        Set<Person> set1 = new HashSet<>(lists.list1());
+        Set<Person> set2 = new HashSet<>(lists.list2());
+
+        Map<String, Person> stringMap1 = new HashMap<>();
+        Map<String, Person> stringMap2 = new HashMap<>();
+        Map<Person, Integer> objectMap1 = new HashMap<>();
+        Map<Person, Integer> objectMap2 = new HashMap<>();
+        for (int i = 0; i < lists.list1().size(); i++) {
+            stringMap1.put("key" + i, lists.list1().get(i));
+            stringMap2.put("key" + i, lists.list2().get(i));
+            objectMap1.put(lists.list1().get(i), i);
+            objectMap2.put(lists.list2().get(i), i);
+        }
+
+        EqualLibConfig config = new EqualLibConfig()
+                .setParallelComparison(true)
+                .setParallelThreshold(1000)
+                .setCompareCollectionsByElements(true);
+
+        assertTrue(EqualLib.areEqual(set1, set2, config), "Sets should be equal");
+        assertTrue(EqualLib.areEqual(stringMap1, stringMap2, config), "Maps should be equal");
+        assertTrue(EqualLib.areEqual(objectMap1, objectMap2, config), "Maps should be equal");
+
+        Person person = new Person(lists.list2().get(10_000));
+        person.age++;
+
+        set2.remove(lists.list2().get(10_000));
+        set2.add(person);
+        assertFalse(EqualLib.areEqual(set1, set2, config), "Sets should not be equal");
+
+        stringMap2.put("key10000", person);
+        assertFalse(EqualLib.areEqual(stringMap1, stringMap2, config), "Maps should not be equal");
+
+        objectMap2.put(lists.list2().get(10_000), -1);
+        assertFalse(EqualLib.areEqual(objectMap1, objectMap2, config), "Maps should not be equal");
+    }
+}
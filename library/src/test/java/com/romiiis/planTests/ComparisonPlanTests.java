@@ -0,0 +1,80 @@
+package com.romiiis.planTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComparisonPlanTests {
+
+    private static Order order(String customer, String label, int quantity) {
+        return new Order(1, customer, label)
+                .addLine("apple", quantity, 1.5)
+                .addLine("pear", 2, 0.5);
+    }
+
+    @DisplayName("Plans reused by repeated comparisons")
+    @Test
+    void test1() {
+        EqualLibConfig config = new EqualLibConfig();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(EqualLib.areEqual(order("John", "A", i), order("John", "A", i), config));
+            assertFalse(EqualLib.areEqual(order("John", "A", i), order("John", "A", i + 1), config));
+            assertFalse(EqualLib.areEqual(order("John", "A", i), order("Jane", "A", i), config));
+        }
+    }
+
+    @DisplayName("Ignored fields changed after a comparison")
+    @Test
+    void test2() {
+        EqualLibConfig config = new EqualLibConfig();
+        assertFalse(EqualLib.areEqual(order("John", "A", 1), order("Jane", "A", 1), config));
+
+        config.setIgnoredFieldPaths("com.romiiis.planTests.Order.customer");
+        assertTrue(EqualLib.areEqual(order("John", "A", 1), order("Jane", "A", 1), config));
+
+        config.setIgnoredFieldPaths("com.romiiis.planTests.Line.quantity");
+        assertFalse(EqualLib.areEqual(order("John", "A", 1), order("Jane", "A", 1), config));
+        assertTrue(EqualLib.areEqual(order("John", "A", 1), order("John", "A", 2), config));
+    }
+
+    @DisplayName("Custom equals classes changed after a comparison")
+    @Test
+    void test3() {
+        EqualLibConfig config = new EqualLibConfig();
+        assertFalse(EqualLib.areEqual(order("John", "a", 1), order("John", "A", 1), config));
+
+        config.setCustomEqualsClasses("com.romiiis.planTests.Label");
+        assertTrue(EqualLib.areEqual(order("John", "a", 1), order("John", "A", 1), config));
+        assertFalse(EqualLib.areEqual(order("John", "a", 1), order("John", "B", 1), config));
+    }
+
+    @DisplayName("Plans of one class in different configurations")
+    @Test
+    void test4() {
+        EqualLibConfig compared = new EqualLibConfig();
+        EqualLibConfig ignored = new EqualLibConfig().setIgnoredFieldPaths("com.romiiis.planTests.Line.price");
+        Order cheap = new Order(1, "John", "A").addLine("apple", 1, 1.5);
+        Order expensive = new Order(1, "John", "A").addLine("apple", 1, 2.5);
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(EqualLib.areEqual(cheap, expensive, compared));
+            assertTrue(EqualLib.areEqual(cheap, expensive, ignored));
+        }
+    }
+
+    @DisplayName("Plans compiled again after clearing the cache")
+    @Test
+    void test5() {
+        EqualLibConfig config = new EqualLibConfig().setIgnoredFieldPaths("com.romiiis.planTests.Order.customer");
+        assertTrue(EqualLib.areEqual(order("John", "A", 1), order("Jane", "A", 1), config));
+
+        EqualLib.clearFieldCache();
+        assertTrue(EqualLib.areEqual(order("John", "A", 1), order("Jane", "A", 1), config));
+        assertFalse(EqualLib.areEqual(order("John", "A", 1), order("John", "A", 2), config));
+        assertFalse(EqualLib.areEqual(order("John", "A", 1), order("John", "A", 2)));
+    }
+}
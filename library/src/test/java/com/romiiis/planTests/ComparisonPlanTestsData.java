@@ -0,0 +1,55 @@
+package com.romiiis.planTests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class Order {
+    long id;
+    String customer;
+    Label label;
+    List<Line> lines = new ArrayList<>();
+
+    Order(long id, String customer, String label) {
+        this.id = id;
+        this.customer = customer;
+        this.label = new Label(label);
+    }
+
+    Order addLine(String product, int quantity, double price) {
+        lines.add(new Line(product, quantity, price));
+        return this;
+    }
+}
+
+class Line {
+    String product;
+    int quantity;
+    double price;
+
+    Line(String product, int quantity, double price) {
+        this.product = product;
+        this.quantity = quantity;
+        this.price = price;
+    }
+}
+
+/**
+ * Label equal to labels with the same name in any case
+ */
+class Label {
+    String name;
+
+    Label(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Label other && name.equalsIgnoreCase(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.toLowerCase().hashCode();
+    }
+}
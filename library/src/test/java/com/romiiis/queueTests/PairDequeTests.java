@@ -0,0 +1,93 @@
+package com.romiiis.queueTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.core.TraversalStrategy;
+import com.romiiis.util.PairDeque;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PairDequeTests {
+
+    @DisplayName("Wide trees with all traversal strategies")
+    @Test
+    void test1() {
+        // The queue of pairs grows to thousands of pairs while it is polled (so it wraps around and grows again)
+        for (TraversalStrategy strategy : TraversalStrategy.values()) {
+            EqualLibConfig config = new EqualLibConfig().setTraversalStrategy(strategy).setHybridFrontierLimit(1000);
+            TreeNode tree1 = TreeNode.create(14);
+            TreeNode tree2 = TreeNode.create(14);
+
+            assertTrue(EqualLib.areEqual(tree1, tree2, config), "Trees should be equal: " + strategy);
+
+            tree2.lastLeaf().value = -1;
+            assertFalse(EqualLib.areEqual(tree1, tree2, config), "Trees should not be equal: " + strategy);
+            assertFalse(EqualLib.areEqual(tree2, tree1, config), "Trees should not be equal: " + strategy);
+        }
+    }
+
+    @DisplayName("Pairs taken from both ends")
+    @Test
+    void test2() {
+        PairDeque queue = new PairDeque(2);
+        Object[] objects = new Object[100];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new Object();
+        }
+
+        // Added at both ends, so the ring wraps around and grows
+        for (int i = 0; i < 50; i++) {
+            queue.addLast(objects[2 * i], objects[2 * i + 1], i);
+            queue.addFirst(objects[2 * i + 1], objects[2 * i], -i);
+        }
+        assertEquals(100, queue.size());
+
+        for (int i = 49; i >= 0; i--) {
+            assertTrue(queue.pollFirst());
+            assertSame(objects[2 * i + 1], queue.first());
+            assertSame(objects[2 * i], queue.second());
+            assertEquals(-i, queue.depth());
+        }
+        for (int i = 49; i >= 0; i--) {
+            assertTrue(queue.pollLast());
+            assertSame(objects[2 * i], queue.first());
+            assertSame(objects[2 * i + 1], queue.second());
+            assertEquals(i, queue.depth());
+        }
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.pollFirst());
+        assertFalse(queue.pollLast());
+    }
+
+    @DisplayName("Clearing and resetting the queue")
+    @Test
+    void test3() {
+        PairDeque queue = new PairDeque();
+        for (int i = 0; i < 1000; i++) {
+            queue.addLast(new Object(), null, i);
+        }
+        int capacity = queue.capacity();
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.first());
+        assertEquals(capacity, queue.capacity(), "Cleared queue keeps its arrays");
+
+        queue.addLast("a", "b", 1);
+        queue.reset(64);
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.capacity() <= 64, "Reset queue shrinks its arrays");
+
+        queue.addLast("a", "b", 1);
+        assertTrue(queue.pollFirst());
+        assertEquals("a", queue.first());
+        assertEquals("b", queue.second());
+        assertEquals(1, queue.depth());
+    }
+}
@@ -0,0 +1,32 @@
+package com.romiiis.queueTests;
+
+class TreeNode {
+    int value;
+    TreeNode left;
+    TreeNode right;
+
+    /**
+     * Complete binary tree with the given number of levels, the nodes are numbered level by level
+     */
+    static TreeNode create(int levels) {
+        return create(levels, 1);
+    }
+
+    private static TreeNode create(int levels, int value) {
+        TreeNode node = new TreeNode();
+        node.value = value;
+        if (levels > 1) {
+            node.left = create(levels - 1, 2 * value);
+            node.right = create(levels - 1, 2 * value + 1);
+        }
+        return node;
+    }
+
+    TreeNode lastLeaf() {
+        TreeNode node = this;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+}
@@ -82,6 +82,81 @@ public class CollectionsTreatTests {
 
     }
 
+    @DisplayName("Test maps with many object keys")
+    @Test
+    void testMapsWithManyObjectKeys() {
+        Map<ObjectA, Integer> map1 = new HashMap<>();
+        Map<ObjectA, Integer> map2 = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map1.put(new ObjectA(i, "A" + i), i);
+            map2.put(new ObjectA(i, "A" + i), i);
+        }
+        map1.put(null, -1);
+        map2.put(null, -1);
+
+        EqualLibConfig config = new EqualLibConfig();
+        config.setCompareCollectionsByElements(true);
+
+        assertTrue(EqualLib.areEqual(map1, map2, config));
+        assertTrue(EqualLib.areEqual(map2, map1, config));
+
+        map2.put(map2.keySet().stream().filter(Objects::nonNull).findFirst().orElseThrow(), -2);
+        assertFalse(EqualLib.areEqual(map1, map2, config));
+        assertFalse(EqualLib.areEqual(map2, map1, config));
+    }
+
+    @DisplayName("Test sets with objects")
+    @Test
+    void testSetsWithObjects() {
+        Set<ObjectA> set1 = new HashSet<>();
+        Set<ObjectA> set2 = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            set1.add(new ObjectA(i, "A" + i));
+            set2.add(new ObjectA(999 - i, "A" + (999 - i)));
+        }
+
+        EqualLibConfig config = new EqualLibConfig();
+        config.setCompareCollectionsByElements(true);
+
+        assertTrue(EqualLib.areEqual(set1, set2, config));
+        assertTrue(EqualLib.areEqual(set2, set1, config));
+
+        set2.iterator().next().name = "Different";
+        assertFalse(EqualLib.areEqual(set1, set2, config));
+        assertFalse(EqualLib.areEqual(set2, set1, config));
+    }
+
+    @DisplayName("Test sets with elements referencing the set")
+    @Test
+    void testSetsWithCyclicElements() {
+        ObjectSet a = new ObjectSet();
+        ObjectSet b = new ObjectSet();
+        a.set = new HashSet<>();
+        b.set = new HashSet<>();
+
+        for (int i = 0; i < 5; i++) {
+            ObjectSet elementA = new ObjectSet();
+            elementA.number = i;
+            elementA.set = a.set;
+            a.set.add(elementA);
+
+            ObjectSet elementB = new ObjectSet();
+            elementB.number = i;
+            elementB.set = b.set;
+            b.set.add(elementB);
+        }
+
+        EqualLibConfig config = new EqualLibConfig();
+        config.setCompareCollectionsByElements(true);
+
+        assertTrue(EqualLib.areEqual(a, b, config));
+        assertTrue(EqualLib.areEqual(b, a, config));
+
+        b.set.iterator().next().number = 10;
+        assertFalse(EqualLib.areEqual(a, b, config));
+        assertFalse(EqualLib.areEqual(b, a, config));
+    }
+
     @DisplayName("Test cyclic references")
     @Test
     void testCyclicReferences() {
@@ -0,0 +1,17 @@
+package com.romiiis.testData;
+
+public class Address {
+    public String street;
+    public String city;
+    public String country;
+    public String postalCode;
+
+    public Address(Address address) {
+        this.street = address.street;
+        this.city = address.city;
+        this.country = address.country;
+        this.postalCode = address.postalCode;
+    }
+
+    public Address() {}
+}
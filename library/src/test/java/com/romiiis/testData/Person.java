@@ -0,0 +1,26 @@
+package com.romiiis.testData;
+
+import java.util.Random;
+
+public class Person {
+    public String name;
+    public int age;
+    public String gender;
+    public String email;
+    public Address address;
+
+    public Person(Person person) {
+        this.name = person.name;
+        this.age = person.age;
+        this.gender = person.gender;
+        this.email = person.email;
+        Random random = new Random();
+        if (random.nextBoolean()) {
+            this.address = new Address(person.address);
+        } else {
+            this.address = person.address;
+        }
+    }
+
+    public Person() {}
+}
@@ -0,0 +1,117 @@
+package com.romiiis.testData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Data shared by the tests of the separate features (persons, their addresses and universities).
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    /**
+     * Two lists of persons
+     */
+    public record PersonLists(List<Person> list1, List<Person> list2) {
+    }
+
+    /**
+     * Generate two lists of random persons.
+     *
+     * @param count          Number of persons in the first list
+     * @param shouldBeEqual  true if the second list holds the same persons (or their copies),
+     *                       false if it holds other persons and one more person
+     * @return The lists
+     */
+    public static PersonLists generateRandomPersons(int count, boolean shouldBeEqual) {
+        List<Person> list1 = new ArrayList<>();
+        List<Person> list2 = new ArrayList<>();
+        Random rand = new Random();
+
+        for (int i = 0; i < count; i++) {
+            Person person = new Person();
+            person.name = generateRandomName();
+            person.age = rand.nextInt(60) + 18; // Random age between 18 and 77
+            person.gender = (rand.nextBoolean()) ? "Male" : "Female";  // Random gender
+            person.email = generateRandomEmail();
+            person.address = generateRandomAddress();
+            list1.add(person);
+
+            // If shouldBeEqual, make list2 identical to list1
+            if (shouldBeEqual) {
+                if (rand.nextBoolean()) {
+                    list2.add(person);
+                } else {
+                    list2.add(new Person(person));
+                }
+            } else {
+                // Otherwise, make list2's person slightly different (e.g., change age or name)
+                Person newPerson = new Person();
+                newPerson.name = generateRandomName();
+                newPerson.age = rand.nextInt(60) + 18;  // Random age between 18 and 77
+                newPerson.gender = (rand.nextBoolean()) ? "Male" : "Female";  // Random gender
+                newPerson.email = generateRandomEmail();
+                newPerson.address = generateRandomAddress();
+                list2.add(newPerson);
+            }
+        }
+
+        // Add extra person if the lists are not equal
+        if (!shouldBeEqual) {
+            Person person = new Person();
+            person.name = generateRandomName();
+            person.age = rand.nextInt(60) + 18;
+            person.gender = (rand.nextBoolean()) ? "Male" : "Female";
+            person.email = generateRandomEmail();
+            person.address = generateRandomAddress();
+            list2.add(person);
+        }
+
+        return new PersonLists(list1, list2);
+    }
+
+    private static String generateRandomName() {
+        String[] firstNames = {"Alice", "Bob", "Charlie", "Diana", "Eve", "Frank"};
+        String[] lastNames = {"Smith", "Johnson", "Brown", "Williams", "Jones", "Miller"};
+        Random rand = new Random();
+        String firstName = firstNames[rand.nextInt(firstNames.length)];
+        String lastName = lastNames[rand.nextInt(lastNames.length)];
+        return firstName + " " + lastName;
+    }
+
+    private static String generateRandomEmail() {
+        String[] domains = {"example.com", "test.com", "demo.org", "mail.net"};
+        Random rand = new Random();
+        return "user" + rand.nextInt(1000) + "@" + domains[rand.nextInt(domains.length)];
+    }
+
+    private static Address generateRandomAddress() {
+        Random rand = new Random();
+
+        // Randomly select a street name
+        String[] streetNames = {"Main St", "Maple Ave", "Oak Dr", "Pine Blvd", "Elm Rd", "Cedar Lane"};
+        String street = rand.nextInt(9999) + " " + streetNames[rand.nextInt(streetNames.length)];
+
+        // Randomly select a city
+        String[] cities = {"Springfield", "Riverside", "Madison", "Greenville", "Bristol"};
+        String city = cities[rand.nextInt(cities.length)];
+
+        // Randomly select a state
+        String[] states = {"CA", "TX", "NY", "FL", "IL"};
+        String state = states[rand.nextInt(states.length)];
+
+        // Randomly generate a postal code
+        String postalCode = String.format("%05d", rand.nextInt(100000)); // Generate a 5-digit postal code
+
+        // Create and return the address
+        Address address = new Address();
+        address.street = street;
+        address.city = city;
+        address.country = state;
+        address.postalCode = postalCode;
+        return address;
+    }
+}
@@ -0,0 +1,13 @@
+package com.romiiis.testData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class University {
+    public String universityName;
+    public List<Person> students;
+    public List<Person> professors;
+    public Map<String, List<Person>> courses;
+    public Set<String> campuses;
+}
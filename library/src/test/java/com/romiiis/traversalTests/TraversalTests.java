@@ -0,0 +1,39 @@
+package com.romiiis.traversalTests;
+
+import com.romiiis.complexTests.GraphNode;
+import com.romiiis.complexTests.TestGraphGenerator;
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.core.TraversalStrategy;
+import com.romiiis.testData.TestData.PersonLists;
+import org.junit.jupiter.api.Test;
+
+import static com.romiiis.testData.TestData.generateRandomPersons;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TraversalTests {
+
+    @Test
+    public void testTraversalStrategies() {
+        GraphNode root1 = TestGraphGenerator.generateCyclicGraph(1000);
+        GraphNode root2 = TestGraphGenerator.copyGraphIterative(root1);
+        GraphNode other = TestGraphGenerator.generateCyclicGraph(1000);
+
+        PersonLists lists = generateRandomPersons(1_000, true);
+        PersonLists lists2 = generateRandomPersons(1_000, false);
+
+        for (TraversalStrategy strategy : TraversalStrategy.values()) {
+            EqualLibConfig config = new EqualLibConfig()
+                    .setTraversalStrategy(strategy)
+                    .setHybridFrontierLimit(16);
+
+            assertTrue(EqualLib.areEqual(root1, root2, config), "Graphs should be equal: " + strategy);
+            assertTrue(EqualLib.areEqual(root2, root1, config), "Graphs should be equal: " + strategy);
+            assertFalse(EqualLib.areEqual(root1, other, config), "Graphs should not be equal: " + strategy);
+
+            assertTrue(EqualLib.areEqual(lists.list1(), lists.list2(), config), "Lists should be equal: " + strategy);
+            assertFalse(EqualLib.areEqual(lists2.list1(), lists2.list2(), config), "Lists should not be equal: " + strategy);
+        }
+    }
+}
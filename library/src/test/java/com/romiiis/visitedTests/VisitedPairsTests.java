@@ -0,0 +1,148 @@
+package com.romiiis.visitedTests;
+
+import com.romiiis.core.EqualLib;
+import com.romiiis.core.EqualLibConfig;
+import com.romiiis.util.ConcurrentIdentityPairSet;
+import com.romiiis.util.IdentityPairSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VisitedPairsTests {
+
+    @DisplayName("Visited pairs of a big cyclic graph")
+    @Test
+    void test1() {
+        // Two rings of nodes, every node also points to the node in the middle of the ring (so pairs are visited repeatedly)
+        IdentityNode[] ring1 = createRing(5000);
+        IdentityNode[] ring2 = createRing(5000);
+
+        EqualLibConfig config = new EqualLibConfig();
+
+        assertTrue(EqualLib.areEqual(ring1[0], ring2[0], config));
+        assertTrue(EqualLib.areEqual(ring2[0], ring1[0], config));
+
+        // Nodes equal by their equals method, but different in the last node of the ring
+        ring2[ring2.length - 1].value = -1;
+        assertFalse(EqualLib.areEqual(ring1[0], ring2[0], config));
+
+        // The ring closed at another node
+        ring2[ring2.length - 1].value = ring2.length - 1;
+        ring2[ring2.length - 1].next = ring2[1];
+        assertFalse(EqualLib.areEqual(ring1[0], ring2[0], config));
+    }
+
+    private static IdentityNode[] createRing(int size) {
+        IdentityNode[] nodes = new IdentityNode[size];
+        for (int i = 0; i < size; i++) {
+            nodes[i] = new IdentityNode(i);
+        }
+        for (int i = 0; i < size; i++) {
+            nodes[i].next = nodes[(i + 1) % size];
+            nodes[i].other = nodes[size / 2];
+        }
+        return nodes;
+    }
+
+    @DisplayName("Pairs compared by identity")
+    @Test
+    void test2() {
+        IdentityPairSet set = new IdentityPairSet();
+        String a = new String("a");
+        String b = new String("a");
+
+        assertTrue(set.add(a, b));
+        assertFalse(set.add(a, b));
+        assertTrue(set.contains(a, b));
+        assertFalse(set.contains(b, a), "Pairs are ordered");
+        assertFalse(set.contains(a, new String("a")), "Equal objects are different pairs");
+
+        assertTrue(set.add(null, a));
+        assertTrue(set.add(a, null));
+        assertFalse(set.add(null, a));
+        assertTrue(set.contains(a, null));
+        assertEquals(3, set.size());
+    }
+
+    @DisplayName("Growing, clearing and resetting the set")
+    @Test
+    void test3() {
+        IdentityPairSet set = new IdentityPairSet();
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            objects.add(new Object());
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            assertTrue(set.add(objects.get(i), objects.get(objects.size() - 1 - i)));
+        }
+        assertEquals(objects.size(), set.size());
+        for (int i = 0; i < objects.size(); i++) {
+            assertTrue(set.contains(objects.get(i), objects.get(objects.size() - 1 - i)));
+        }
+
+        int capacity = set.capacity();
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(capacity, set.capacity(), "Cleared set keeps its arrays");
+        assertFalse(set.contains(objects.get(0), objects.get(objects.size() - 1)));
+
+        set.add(objects.get(0), objects.get(1));
+        set.reset(64);
+        assertTrue(set.isEmpty());
+        assertTrue(set.capacity() <= 64, "Reset set shrinks its arrays");
+        assertTrue(set.add(objects.get(0), objects.get(1)));
+    }
+
+    @DisplayName("Pairs added from several threads")
+    @Test
+    void test4() throws Exception {
+        ConcurrentIdentityPairSet set = new ConcurrentIdentityPairSet(4);
+        Object[] objects = new Object[1000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = new Object();
+        }
+
+        // Every thread adds all pairs, each pair is added only once
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < objects.length; i++) {
+                        Object first = objects[i];
+                        Object second = objects[(i + 1) % objects.length];
+                        if (set.add(first, second, IdentityPairSet.hash(first, second))) {
+                            added.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(objects.length, added.get());
+        assertEquals(objects.length, set.size());
+
+        IdentityPairSet local = new IdentityPairSet();
+        local.add(objects[0], objects[0]);
+        local.add(objects[0], objects[1]);
+        set.addAll(local);
+        assertEquals(objects.length + 1, set.size());
+        assertTrue(set.contains(objects[0], objects[0], IdentityPairSet.hash(objects[0], objects[0])));
+    }
+}
@@ -0,0 +1,24 @@
+package com.romiiis.visitedTests;
+
+/**
+ * Node whose equals and hashCode must never be used by the comparison
+ */
+class IdentityNode {
+    int value;
+    IdentityNode next;
+    IdentityNode other;
+
+    public IdentityNode(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        throw new UnsupportedOperationException("The visited pairs must be compared by identity");
+    }
+}
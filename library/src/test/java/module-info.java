@@ -0,0 +1,9 @@
+open module EqualLibTest {
+    requires EqualLib;
+    requires org.junit.jupiter.api;
+    requires jdk.unsupported;
+
+    provides com.romiiis.spi.DeepComparator with com.romiiis.annotationTests.ShipmentDeepComparator,
+            com.romiiis.annotationTests.AtomicLongDeepComparator;
+
+}
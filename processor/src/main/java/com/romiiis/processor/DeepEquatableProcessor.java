@@ -0,0 +1,380 @@
+package com.romiiis.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a {@code com.romiiis.spi.DeepComparator} for every class annotated by
+ * {@code com.romiiis.annotation.DeepEquatable}.
+ * <p>
+ * The generated comparator is a plain Java class in the package of the annotated class. It compares the primitive
+ * and value fields (wrappers, String, fields annotated by {@code EqualUseEquals} or {@code EqualShallow}) directly
+ * and passes the other referenced objects to EqualLib, fields annotated by {@code EqualIgnore} are skipped.
+ * It also hashes the same fields (consistently with the comparison), so the class is never read by reflection.
+ * Private fields are read by their accessor ({@code getName()}, {@code isName()} or {@code name()}).
+ * All generated comparators are listed in {@code META-INF/services/com.romiiis.spi.DeepComparator},
+ * modular applications provide them in their module descriptor instead.
+ * </p>
+ *
+ * @author Roman Pejs
+ * @version 1.0
+ */
+@SupportedAnnotationTypes({
+        DeepEquatableProcessor.DEEP_EQUATABLE,
+        DeepEquatableProcessor.EQUAL_IGNORE,
+        DeepEquatableProcessor.EQUAL_USE_EQUALS,
+        DeepEquatableProcessor.EQUAL_SHALLOW
+})
+public class DeepEquatableProcessor extends AbstractProcessor {
+
+    static final String DEEP_EQUATABLE = "com.romiiis.annotation.DeepEquatable";
+    static final String EQUAL_IGNORE = "com.romiiis.annotation.EqualIgnore";
+    static final String EQUAL_USE_EQUALS = "com.romiiis.annotation.EqualUseEquals";
+    static final String EQUAL_SHALLOW = "com.romiiis.annotation.EqualShallow";
+
+    private static final String COMPARATOR_INTERFACE = "com.romiiis.spi.DeepComparator";
+    private static final String SERVICE_FILE = "META-INF/services/" + COMPARATOR_INTERFACE;
+    private static final String COMPARATOR_SUFFIX = "DeepComparator";
+
+    /**
+     * Types compared by equals (same as EqualLib.isWrapperOrString)
+     */
+    private static final Set<String> VALUE_TYPES = Set.of(
+            "java.lang.Integer", "java.lang.Double", "java.lang.Long", "java.lang.Float", "java.lang.Character",
+            "java.lang.Short", "java.lang.Byte", "java.lang.Boolean", "java.lang.String");
+
+    /**
+     * Fully qualified names of the comparators generated in all rounds
+     */
+    private final Set<String> generated = new LinkedHashSet<>();
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(DEEP_EQUATABLE);
+
+        if (annotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type && isComparable(type)) {
+                    generate(type);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !generated.isEmpty()) {
+            writeServiceFile();
+        }
+        // The field annotations are claimed too, they are read only with @DeepEquatable
+        return true;
+    }
+
+
+    /**
+     * Check if a comparator can be generated for the type (reports an error if not).
+     *
+     * @param type The annotated type.
+     * @return true if the comparator can be generated, false otherwise.
+     */
+    private boolean isComparable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD) {
+            return error(type, "@DeepEquatable can be used only on classes and records");
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return error(type, "@DeepEquatable class must not be abstract (the comparator is used only for the class itself)");
+        }
+        for (Element e = type; e instanceof TypeElement t; e = e.getEnclosingElement()) {
+            if (t.getModifiers().contains(Modifier.PRIVATE) || t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                return error(type, "@DeepEquatable class must be accessible from its package");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generate the comparator of the type.
+     *
+     * @param type The annotated type.
+     */
+    private void generate(TypeElement type) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String comparatorName = flatName(type) + COMPARATOR_SUFFIX;
+
+        List<String> checks = new ArrayList<>();
+        List<String> deferred = new ArrayList<>();
+        List<String> hashes = new ArrayList<>();
+
+        // Fields of the class and its superclasses (static fields are never compared)
+        for (TypeElement declaring = type; declaring != null; declaring = superclassOf(declaring)) {
+            for (VariableElement field : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || hasAnnotation(field, EQUAL_IGNORE)) {
+                    continue;
+                }
+
+                String first = access(field, declaring, type, packageName, "first");
+                String second = access(field, declaring, type, packageName, "second");
+                String value = access(field, declaring, type, packageName, "obj");
+                if (first == null) {
+                    error(field, inaccessibleReason(field, declaring, type, packageName));
+                    return;
+                }
+
+                // The hash of every field is consistent with its comparison
+                TypeMirror fieldType = field.asType();
+                if (fieldType.getKind() == TypeKind.FLOAT) {
+                    checks.add("Float.floatToIntBits(" + first + ") != Float.floatToIntBits(" + second + ")");
+                    hashes.add("Float.hashCode(" + value + ")");
+                } else if (fieldType.getKind() == TypeKind.DOUBLE) {
+                    checks.add("Double.doubleToLongBits(" + first + ") != Double.doubleToLongBits(" + second + ")");
+                    hashes.add("Double.hashCode(" + value + ")");
+                } else if (fieldType.getKind().isPrimitive()) {
+                    checks.add(first + " != " + second);
+                    hashes.add(processingEnv.getTypeUtils().boxedClass((PrimitiveType) fieldType).getQualifiedName() + ".hashCode(" + value + ")");
+                } else if (hasAnnotation(field, EQUAL_SHALLOW)) {
+                    checks.add(first + " != " + second);
+                    hashes.add("System.identityHashCode(" + value + ")");
+                } else if (VALUE_TYPES.contains(erasure(fieldType))) {
+                    checks.add("!java.util.Objects.equals(" + first + ", " + second + ")");
+                    hashes.add("java.util.Objects.hashCode(" + value + ")");
+                } else if (hasAnnotation(field, EQUAL_USE_EQUALS)) {
+                    // Only equals is required from these classes, their hash code can be inconsistent with it
+                    checks.add("!java.util.Objects.equals(" + first + ", " + second + ")");
+                } else {
+                    deferred.add("deferred.compareDeeply(" + first + ", " + second + ");");
+                    hashes.add("hasher.hashDeeply(" + value + ")");
+                }
+            }
+        }
+
+        StringBuilder code = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("/**\n")
+                .append(" * Comparator of {@link ").append(typeName).append("} generated by the EqualLib annotation processor.\n")
+                .append(" */\n");
+        if (!type.getTypeParameters().isEmpty()) {
+            code.append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+        }
+        code.append("public final class ").append(comparatorName)
+                .append(" implements ").append(COMPARATOR_INTERFACE).append("<").append(typeName).append("> {\n\n")
+                .append("    @Override\n")
+                .append("    public Class<").append(typeName).append("> getType() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public boolean compare(").append(typeName).append(" first, ").append(typeName).append(" second, ")
+                .append(COMPARATOR_INTERFACE).append(".Deferred deferred) {\n");
+        for (String check : checks) {
+            code.append("        if (").append(check).append(") {\n")
+                    .append("            return false;\n")
+                    .append("        }\n");
+        }
+        for (String call : deferred) {
+            code.append("        ").append(call).append("\n");
+        }
+        code.append("        return true;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public int hash(").append(typeName).append(" obj, ")
+                .append(COMPARATOR_INTERFACE).append(".Hasher hasher) {\n")
+                .append("        int h = 1;\n");
+        for (String hash : hashes) {
+            code.append("        h = 31 * h + ").append(hash).append(";\n");
+        }
+        code.append("        return h;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? comparatorName : packageName + "." + comparatorName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(code.toString());
+            generated.add(qualifiedName);
+        } catch (IOException e) {
+            error(type, "Comparator cannot be generated: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the expression reading the field (directly or by its accessor).
+     *
+     * @param field       The field.
+     * @param declaring   The class declaring the field.
+     * @param type        The annotated class.
+     * @param packageName Package of the generated comparator.
+     * @param variable    The variable holding the compared object.
+     * @return The expression, null if the field cannot be read from the package.
+     */
+    private String access(VariableElement field, TypeElement declaring, TypeElement type, String packageName, String variable) {
+        if (declaring != type && !isAccessible(declaring, packageName)) {
+            return null;
+        }
+        String receiver = declaring == type ? variable : "((" + declaring.getQualifiedName() + ") " + variable + ")";
+
+        if (isAccessible(field, packageName)) {
+            return receiver + "." + field.getSimpleName();
+        }
+
+        String name = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        Set<String> accessorNames = Set.of("get" + capitalized, "is" + capitalized, name);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(declaring.getEnclosedElements())) {
+            if (accessorNames.contains(method.getSimpleName().toString())
+                    && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && isAccessible(method, packageName)
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())) {
+                return receiver + "." + method.getSimpleName() + "()";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the message explaining why the field cannot be read from the package of the generated comparator.
+     *
+     * @param field       The field.
+     * @param declaring   The class declaring the field.
+     * @param type        The annotated class.
+     * @param packageName Package of the generated comparator.
+     * @return The error message.
+     */
+    private String inaccessibleReason(VariableElement field, TypeElement declaring, TypeElement type, String packageName) {
+        if (declaring != type && !isAccessible(declaring, packageName)) {
+            return "Superclass " + declaring.getQualifiedName() + " of a @DeepEquatable class is not accessible from package "
+                    + packageName + " (its fields must be annotated by @EqualIgnore)";
+        }
+        if (field.getModifiers().contains(Modifier.PRIVATE)) {
+            return "Field of a @DeepEquatable class must not be private, or it must have an accessor "
+                    + "(or it must be annotated by @EqualIgnore)";
+        }
+        // Protected or package-private field of a superclass from another package (the comparator is not its subclass)
+        return "Field " + field.getSimpleName() + " of " + declaring.getQualifiedName() + " is not accessible from package "
+                + packageName + ", it must be public or it must have a public accessor (or it must be annotated by @EqualIgnore)";
+    }
+
+    /**
+     * Check if the member can be used from the package (public, or not private in the same package).
+     */
+    private boolean isAccessible(Element element, String packageName) {
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        String elementPackage = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+        return modifiers.contains(Modifier.PUBLIC) || elementPackage.equals(packageName);
+    }
+
+    /**
+     * Get the superclass of the type (null for java.lang.Object).
+     */
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    /**
+     * Get the name of the type without the package, nested classes joined by underscores.
+     */
+    private static String flatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement outer; e = e.getEnclosingElement()) {
+            name = outer.getSimpleName() + "_" + name;
+        }
+        return name;
+    }
+
+    /**
+     * Get the qualified name of the erased type.
+     */
+    private String erasure(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        return erased.getKind() == TypeKind.DECLARED
+                ? ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString()
+                : erased.toString();
+    }
+
+    /**
+     * Check if the element is annotated by the annotation.
+     */
+    private static boolean hasAnnotation(Element element, String annotation) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation));
+    }
+
+
+    /**
+     * Write the service file listing the generated comparators (merged with the comparators of previous compilations).
+     */
+    private void writeServiceFile() {
+        Filer filer = processingEnv.getFiler();
+        Set<String> providers = new LinkedHashSet<>();
+
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Reader reader = existing.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                lines.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#")).forEach(providers::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No service file yet
+        }
+        providers.addAll(generated);
+
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+            for (String provider : providers) {
+                writer.write(provider);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            Messager messager = processingEnv.getMessager();
+            messager.printMessage(Diagnostic.Kind.ERROR, "Service file cannot be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Report an error on the element.
+     *
+     * @return Always false.
+     */
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * EqualLib annotation processor module
+ * @author Romiiis
+ */
+module EqualLib.processor {
+    requires java.compiler;
+
+    provides javax.annotation.processing.Processor with com.romiiis.processor.DeepEquatableProcessor;
+}
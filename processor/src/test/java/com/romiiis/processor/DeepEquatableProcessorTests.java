@@ -0,0 +1,283 @@
+package com.romiiis.processor;
+
+import com.romiiis.spi.DeepComparator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests compiling the fixture sources with the processor and running the generated comparators.
+ */
+public class DeepEquatableProcessorTests {
+
+    private static final Map<String, String> FIXTURES = Map.of(
+            "fixtures.Point", """
+                    package fixtures;
+
+                    @com.romiiis.annotation.DeepEquatable
+                    public record Point(int x, int y, String label) {
+                    }
+                    """,
+            "fixtures.Outer", """
+                    package fixtures;
+
+                    public class Outer {
+                        @com.romiiis.annotation.DeepEquatable
+                        public static class Inner {
+                            public double value;
+                            @com.romiiis.annotation.EqualIgnore
+                            public Object cache;
+                        }
+                    }
+                    """,
+            "fixtures.Box", """
+                    package fixtures;
+
+                    @com.romiiis.annotation.DeepEquatable
+                    public class Box<T> {
+                        public T content;
+                        public java.util.List<T> items;
+                        @com.romiiis.annotation.EqualShallow
+                        public Object owner;
+                    }
+                    """,
+            "fixtures.Account", """
+                    package fixtures;
+
+                    @com.romiiis.annotation.DeepEquatable
+                    public class Account {
+                        private final String owner;
+                        private final boolean active;
+                        @com.romiiis.annotation.EqualIgnore
+                        private final Object secret;
+
+                        public Account(String owner, boolean active, Object secret) {
+                            this.owner = owner;
+                            this.active = active;
+                            this.secret = secret;
+                        }
+
+                        public String getOwner() {
+                            return owner;
+                        }
+
+                        public boolean isActive() {
+                            return active;
+                        }
+                    }
+                    """);
+
+    @TempDir
+    Path output;
+
+
+    @Test
+    public void testFixturesCompileWithoutWarnings() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(FIXTURES);
+
+        assertTrue(diagnostics.isEmpty(), "Fixtures should compile without errors and warnings: " + diagnostics);
+        assertEquals(List.of("fixtures.AccountDeepComparator", "fixtures.BoxDeepComparator",
+                        "fixtures.Outer_InnerDeepComparator", "fixtures.PointDeepComparator"),
+                Files.readAllLines(output.resolve("META-INF/services/com.romiiis.spi.DeepComparator")).stream().sorted().toList(),
+                "All generated comparators should be listed in the service file");
+    }
+
+    @Test
+    public void testRecord() throws Exception {
+        assertTrue(compile(FIXTURES).isEmpty());
+        try (URLClassLoader loader = loader()) {
+            Class<?> point = loader.loadClass("fixtures.Point");
+            DeepComparator<Object> comparator = comparator(loader, "fixtures.PointDeepComparator");
+            Object first = point.getConstructor(int.class, int.class, String.class).newInstance(1, 2, "A");
+            Object second = point.getConstructor(int.class, int.class, String.class).newInstance(1, 2, "A");
+            Object other = point.getConstructor(int.class, int.class, String.class).newInstance(1, 3, "A");
+
+            assertEquals(point, comparator.getType());
+            assertTrue(comparator.compare(first, second, failingDeferred()), "Equal records should be equal");
+            assertFalse(comparator.compare(first, other, failingDeferred()), "Records with different components should not be equal");
+            assertEquals(comparator.hash(first, Objects::hashCode), comparator.hash(second, Objects::hashCode), "Equal records should have the same hash");
+        }
+    }
+
+    @Test
+    public void testNestedClassAndIgnoredField() throws Exception {
+        assertTrue(compile(FIXTURES).isEmpty());
+        try (URLClassLoader loader = loader()) {
+            Class<?> inner = loader.loadClass("fixtures.Outer$Inner");
+            DeepComparator<Object> comparator = comparator(loader, "fixtures.Outer_InnerDeepComparator");
+            Object first = inner.getConstructor().newInstance();
+            Object second = inner.getConstructor().newInstance();
+            inner.getField("cache").set(first, "cached");
+
+            assertTrue(comparator.compare(first, second, failingDeferred()), "Ignored field should not be compared");
+            assertEquals(comparator.hash(first, Objects::hashCode), comparator.hash(second, Objects::hashCode), "Ignored field should not be hashed");
+
+            inner.getField("value").set(first, 0.0);
+            inner.getField("value").set(second, -0.0);
+            assertFalse(comparator.compare(first, second, failingDeferred()), "Doubles should be compared by their bits");
+
+            inner.getField("value").set(first, Double.NaN);
+            inner.getField("value").set(second, Double.NaN);
+            assertTrue(comparator.compare(first, second, failingDeferred()), "NaN should be equal to NaN");
+        }
+    }
+
+    @Test
+    public void testGenericClass() throws Exception {
+        assertTrue(compile(FIXTURES).isEmpty());
+        try (URLClassLoader loader = loader()) {
+            Class<?> box = loader.loadClass("fixtures.Box");
+            DeepComparator<Object> comparator = comparator(loader, "fixtures.BoxDeepComparator");
+            Object owner = new Object();
+            Object first = box.getConstructor().newInstance();
+            Object second = box.getConstructor().newInstance();
+            box.getField("content").set(first, "content 1");
+            box.getField("content").set(second, "content 2");
+            box.getField("items").set(first, List.of("A"));
+            box.getField("items").set(second, List.of("B"));
+            box.getField("owner").set(first, owner);
+            box.getField("owner").set(second, owner);
+
+            List<Object> deferred = new ArrayList<>();
+            assertTrue(comparator.compare(first, second, (a, b) -> {
+                deferred.add(a);
+                deferred.add(b);
+            }), "Referenced objects should be left to the deferred comparison");
+            assertEquals(List.of("content 1", "content 2", List.of("A"), List.of("B")), deferred, "Type variable and generic fields should be deferred");
+
+            box.getField("owner").set(second, new Object());
+            assertFalse(comparator.compare(first, second, (a, b) -> {
+            }), "Shallow field should be compared by identity");
+        }
+    }
+
+    @Test
+    public void testPrivateFieldsWithAccessors() throws Exception {
+        assertTrue(compile(FIXTURES).isEmpty());
+        try (URLClassLoader loader = loader()) {
+            Class<?> account = loader.loadClass("fixtures.Account");
+            DeepComparator<Object> comparator = comparator(loader, "fixtures.AccountDeepComparator");
+            Object first = account.getConstructor(String.class, boolean.class, Object.class).newInstance("Alice", true, "secret 1");
+            Object second = account.getConstructor(String.class, boolean.class, Object.class).newInstance("Alice", true, "secret 2");
+            Object other = account.getConstructor(String.class, boolean.class, Object.class).newInstance("Bob", true, "secret 1");
+            Object inactive = account.getConstructor(String.class, boolean.class, Object.class).newInstance("Alice", false, "secret 1");
+
+            assertTrue(comparator.compare(first, second, failingDeferred()), "Ignored private field should not be compared");
+            assertFalse(comparator.compare(first, other, failingDeferred()), "Private field should be compared by its getter");
+            assertFalse(comparator.compare(first, inactive, failingDeferred()), "Private boolean field should be compared by its is-getter");
+        }
+    }
+
+    @Test
+    public void testPrivateFieldWithoutAccessor() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(Map.of("fixtures.Secret", """
+                package fixtures;
+
+                @com.romiiis.annotation.DeepEquatable
+                public class Secret {
+                    private int value;
+                }
+                """));
+
+        assertEquals(1, diagnostics.size(), "Private field without accessor should be reported: " + diagnostics);
+        assertEquals(Diagnostic.Kind.ERROR, diagnostics.get(0).getKind());
+        assertTrue(diagnostics.get(0).getMessage(null).contains("must not be private"), diagnostics.get(0).getMessage(null));
+    }
+
+    @Test
+    public void testProtectedSuperclassFieldFromAnotherPackage() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(Map.of(
+                "base.Base", """
+                        package base;
+
+                        public class Base {
+                            protected int id;
+                        }
+                        """,
+                "fixtures.Derived", """
+                        package fixtures;
+
+                        @com.romiiis.annotation.DeepEquatable
+                        public class Derived extends base.Base {
+                            public int value;
+                        }
+                        """));
+
+        assertEquals(1, diagnostics.size(), "Inaccessible superclass field should be reported: " + diagnostics);
+        String message = diagnostics.get(0).getMessage(null);
+        assertEquals(Diagnostic.Kind.ERROR, diagnostics.get(0).getKind());
+        assertTrue(message.contains("Field id of base.Base is not accessible from package fixtures"), message);
+        assertFalse(message.contains("must not be private"), message);
+    }
+
+
+    /**
+     * Compile the sources by the processor into the output directory.
+     *
+     * @param sources Sources by the qualified names of their classes
+     * @return The reported errors and warnings
+     */
+    private List<Diagnostic<? extends JavaFileObject>> compile(Map<String, String> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        List<JavaFileObject> units = new ArrayList<>();
+        sources.forEach((name, code) -> units.add(new SimpleJavaFileObject(
+                URI.create("string:///" + name.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        }));
+
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    List.of("-d", output.toString(), "-classpath", System.getProperty("java.class.path"), "-Xlint:all"),
+                    null, units);
+            task.setProcessors(List.of(new DeepEquatableProcessor()));
+            task.call();
+        }
+        return diagnostics.getDiagnostics().stream().filter(d -> d.getKind() != Diagnostic.Kind.NOTE).toList();
+    }
+
+    /**
+     * Get the class loader of the compiled classes.
+     */
+    private URLClassLoader loader() throws IOException {
+        return new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    /**
+     * Create the generated comparator.
+     */
+    @SuppressWarnings("unchecked")
+    private static DeepComparator<Object> comparator(ClassLoader loader, String name) throws ReflectiveOperationException {
+        return (DeepComparator<Object>) loader.loadClass(name).getConstructor().newInstance();
+    }
+
+    /**
+     * Get a deferred comparison failing the test (for classes without referenced objects).
+     */
+    private static DeepComparator.Deferred failingDeferred() {
+        return (first, second) -> fail("No object should be deferred");
+    }
+}
@@ -1,6 +0,0 @@
-open module EqualLibTest {
-    requires EqualLib;
-    requires org.junit.jupiter.api;
-    requires jdk.unsupported;
-
-}